@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.benchmark;
+
+import com.torchmind.mango.event.EventBus;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of broadcasting an event through trees of child buses.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+  /**
+   * Defines the amount of child levels below the root bus.
+   */
+  @Param({"1", "2", "4"})
+  public int depth;
+
+  /**
+   * Defines the amount of children per bus.
+   */
+  @Param({"2", "4"})
+  public int fanOut;
+
+  /**
+   * Defines the amount of subscriptions which are registered with every bus.
+   */
+  @Param({"1", "10"})
+  public int subscriptionCount;
+
+  private EventBus root;
+  private CountingEvent event;
+
+  /**
+   * Children are only weakly referenced by their parents and are thus retained here.
+   */
+  private final List<EventBus> buses = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    this.root = new EventBus();
+    this.event = new CountingEvent();
+
+    this.populate(this.root, this.depth);
+  }
+
+  /**
+   * Registers the benchmark subscriptions with a bus and recursively creates its children.
+   *
+   * @param bus an event bus.
+   * @param remainingDepth the amount of levels which are yet to be created below the bus.
+   */
+  private void populate(@NonNull EventBus bus, int remainingDepth) {
+    this.buses.add(bus);
+
+    for (int i = 0; i < this.subscriptionCount; ++i) {
+      bus.createSubscription().register((CountingEvent event) -> event.increment());
+    }
+
+    if (remainingDepth == 0) {
+      return;
+    }
+
+    for (int i = 0; i < this.fanOut; ++i) {
+      this.populate(bus.createChild(), remainingDepth - 1);
+    }
+  }
+
+  @Benchmark
+  public CountingEvent broadcast() {
+    this.root.broadcast(this.event);
+    return this.event;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.benchmark;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Represents an event which counts the amount of subscriptions which have handled it.</p>
+ *
+ * <p>The nested heirs of this type permit benchmarks to evaluate the impact of deep event type
+ * hierarchies.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class CountingEvent {
+
+  /**
+   * Defines the maximum depth of the event hierarchy.
+   */
+  public static final int MAXIMUM_DEPTH = 8;
+
+  private long count;
+
+  /**
+   * Creates a new event which is located at the indicated depth within the event hierarchy.
+   *
+   * @param depth a depth between zero and {@link #MAXIMUM_DEPTH}.
+   * @return an event.
+   * @throws IllegalArgumentException when the depth is out of bounds.
+   */
+  @NonNull
+  public static CountingEvent create(int depth) {
+    switch (depth) {
+      case 0:
+        return new CountingEvent();
+      case 1:
+        return new Depth1();
+      case 2:
+        return new Depth2();
+      case 3:
+        return new Depth3();
+      case 4:
+        return new Depth4();
+      case 5:
+        return new Depth5();
+      case 6:
+        return new Depth6();
+      case 7:
+        return new Depth7();
+      case 8:
+        return new Depth8();
+      default:
+        throw new IllegalArgumentException(
+            "Illegal depth: Expected a value between 0 and " + MAXIMUM_DEPTH + " but got " + depth);
+    }
+  }
+
+  /**
+   * Retrieves the amount of times this event has been handled.
+   *
+   * @return an amount of invocations.
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * Marks this event as handled.
+   */
+  public void increment() {
+    ++this.count;
+  }
+
+  public static class Depth1 extends CountingEvent {
+
+  }
+
+  public static class Depth2 extends Depth1 {
+
+  }
+
+  public static class Depth3 extends Depth2 {
+
+  }
+
+  public static class Depth4 extends Depth3 {
+
+  }
+
+  public static class Depth5 extends Depth4 {
+
+  }
+
+  public static class Depth6 extends Depth5 {
+
+  }
+
+  public static class Depth7 extends Depth6 {
+
+  }
+
+  public static class Depth8 extends Depth7 {
+
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.benchmark;
+
+import com.torchmind.mango.event.EventBus;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of posting an event to a varying amount of subscriptions.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostBenchmark {
+
+  /**
+   * Defines the amount of subscriptions which are registered with the bus.
+   */
+  @Param({"1", "10", "100", "1000", "10000"})
+  public int subscriptionCount;
+
+  /**
+   * Defines the depth of the posted event within the event hierarchy.
+   */
+  @Param({"0", "4", "8"})
+  public int hierarchyDepth;
+
+  /**
+   * Defines whether subscriptions listen to the hierarchy root (and accept heirs) or the exact
+   * type of the posted event.
+   */
+  @Param({"true", "false"})
+  public boolean acceptHeirs;
+
+  /**
+   * Defines the amount of distinct handler implementations which are registered in rotation.
+   *
+   * <p>Three or more handler types render the shared invocation within the subscription
+   * implementation megamorphic.</p>
+   */
+  @Param({"1", "3"})
+  public int handlerTypes;
+
+  /**
+   * Defines whether queues are compiled into dedicated dispatchers once they are posted to
+   * frequently.
+   *
+   * <p>Dispatchers are only compiled for queues of up to 256 subscriptions.</p>
+   */
+  @Param({"false", "true"})
+  public boolean compiledDispatch;
+
+  private EventBus eventBus;
+  private CountingEvent event;
+
+  @Setup
+  public void setup() {
+    this.eventBus = new EventBus.Builder()
+        .withCompiledDispatch(this.compiledDispatch)
+        .build();
+    this.event = CountingEvent.create(this.hierarchyDepth);
+
+    EventFilter filter = new EventFilter.Builder()
+        .withEventType(this.acceptHeirs ? CountingEvent.class : this.event.getClass())
+        .withAcceptHeirs(this.acceptHeirs)
+        .build();
+
+    @SuppressWarnings("unchecked")
+    Consumer<CountingEvent>[] handlers = new Consumer[]{
+        (Consumer<CountingEvent>) (event) -> event.increment(),
+        (Consumer<CountingEvent>) (event) -> event.increment(),
+        (Consumer<CountingEvent>) (event) -> event.increment()
+    };
+
+    for (int i = 0; i < this.subscriptionCount; ++i) {
+      this.eventBus.createSubscription()
+          .withFilter(filter)
+          .register(handlers[i % this.handlerTypes]);
+    }
+  }
+
+  @Benchmark
+  public CountingEvent post() {
+    this.eventBus.post(this.event);
+    return this.event;
+  }
+}
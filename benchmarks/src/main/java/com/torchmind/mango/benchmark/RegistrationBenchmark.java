@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.benchmark;
+
+import com.torchmind.mango.event.EventBus;
+import com.torchmind.mango.event.annotation.Subscribe;
+import com.torchmind.mango.event.subscription.SubscriptionHandle;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of registering annotated listener objects.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+
+  private EventBus eventBus;
+  private Listener listener;
+  private Method method;
+
+  @Setup
+  public void setup() {
+    this.eventBus = new EventBus();
+    this.listener = new Listener();
+
+    // populate the subscription caches in order to include their maintenance cost
+    this.eventBus.post(new CountingEvent());
+    this.eventBus.post(new CountingEvent.Depth1());
+    this.eventBus.post("");
+
+    try {
+      this.method = Listener.class.getMethod("onEvent", CountingEvent.class);
+    } catch (NoSuchMethodException ex) {
+      throw new IllegalStateException("Cannot locate listener method", ex);
+    }
+  }
+
+  @Benchmark
+  public SubscriptionHandle register() {
+    SubscriptionHandle handle = this.eventBus.register(this.listener);
+    handle.remove();
+    return handle;
+  }
+
+  /**
+   * Measures the registration of a single method which re-uses the lambda factory of the method
+   * after its first registration.
+   */
+  @Benchmark
+  public SubscriptionHandle registerMethod() {
+    SubscriptionHandle handle = this.eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder().withEventType(CountingEvent.class).build())
+        .register(this.listener, this.method);
+    handle.remove();
+    return handle;
+  }
+
+  /**
+   * Provides a listener which subscribes to a small set of unrelated event types.
+   */
+  public static class Listener {
+
+    @Subscribe
+    public void onEvent(CountingEvent event) {
+      event.increment();
+    }
+
+    @Subscribe(acceptHeirs = false)
+    public void onExactEvent(CountingEvent.Depth1 event) {
+      event.increment();
+    }
+
+    @Subscribe(priority = 10)
+    public void onString(String event) {
+    }
+
+    @Subscribe(CountingEvent.Depth4.class)
+    public void onNotification() {
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.benchmark;
+
+import com.torchmind.mango.event.subscription.ConsumerSubscription;
+import com.torchmind.mango.event.subscription.SubscriptionQueue;
+import com.torchmind.mango.event.subscription.SubscriptionRegistry;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of rebuilding a subscription queue after a cache miss.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutionBenchmark {
+
+  private static final Class<?>[] EVENT_TYPES = {
+      CountingEvent.class,
+      CountingEvent.Depth2.class,
+      CountingEvent.Depth4.class,
+      String.class
+  };
+
+  /**
+   * Defines the amount of subscriptions which are registered with the registry.
+   */
+  @Param({"10", "100", "1000", "10000"})
+  public int subscriptionCount;
+
+  /**
+   * Defines the depth of the resolved event type within the event hierarchy.
+   */
+  @Param({"0", "8"})
+  public int hierarchyDepth;
+
+  private SubscriptionRegistry registry;
+  private Class<?> eventType;
+
+  @Setup
+  public void setup() {
+    this.registry = new SubscriptionRegistry();
+    this.eventType = CountingEvent.create(this.hierarchyDepth).getClass();
+
+    for (int i = 0; i < this.subscriptionCount; ++i) {
+      EventFilter filter = new EventFilter.Builder()
+          .withEventType(EVENT_TYPES[i % EVENT_TYPES.length])
+          .withAcceptHeirs(i % 2 == 0)
+          .build();
+
+      this.registry.register(new ConsumerSubscription((e) -> {
+      }, filter, i % 16));
+    }
+  }
+
+  @Benchmark
+  public SubscriptionQueue resolve() {
+    this.registry.invalidateCache(this.eventType);
+    return this.registry.getSnapshot().getQueue(this.eventType);
+  }
+}
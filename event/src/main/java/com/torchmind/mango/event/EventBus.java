@@ -17,26 +17,61 @@
 package com.torchmind.mango.event;
 
 import com.torchmind.mango.concurrency.lock.FunctionalReadWriteLock;
+import com.torchmind.mango.event.adapter.SubscriberAdapter;
 import com.torchmind.mango.event.annotation.Subscribe;
-import com.torchmind.mango.event.annotation.Subscribe.DefaultValue;
+import com.torchmind.mango.event.instrumentation.Instrumentation;
+import com.torchmind.mango.event.internal.EventCoalescer;
+import com.torchmind.mango.event.internal.ExecutorFactory;
+import com.torchmind.mango.event.internal.FlightRecording;
 import com.torchmind.mango.event.internal.FunctionalFactory;
+import com.torchmind.mango.event.internal.StickyEventCache;
+import com.torchmind.mango.event.internal.SubscriberAdapters;
+import com.torchmind.mango.event.internal.SubscriberTemplate;
+import com.torchmind.mango.event.internal.TypeCounter;
+import com.torchmind.mango.event.subscription.AsyncSubscription;
+import com.torchmind.mango.event.subscription.BoundedAsyncSubscription;
+import com.torchmind.mango.event.subscription.CacheStatistics;
 import com.torchmind.mango.event.subscription.ConsumerSubscription;
+import com.torchmind.mango.event.subscription.EvictionPolicy;
+import com.torchmind.mango.event.subscription.KeyedSubscription;
+import com.torchmind.mango.event.subscription.OverflowPolicy;
 import com.torchmind.mango.event.subscription.RunnableSubscription;
 import com.torchmind.mango.event.subscription.Subscription;
 import com.torchmind.mango.event.subscription.SubscriptionHandle;
+import com.torchmind.mango.event.subscription.SubscriptionQueue;
 import com.torchmind.mango.event.subscription.SubscriptionRegistry;
+import com.torchmind.mango.event.subscription.SubscriptionRegistry.Snapshot;
 import com.torchmind.mango.event.subscription.filter.EventFilter;
-import com.torchmind.reflect.AnnotationUtility;
-import com.torchmind.reflect.ReflectionUtility;
+import com.torchmind.mango.event.utility.DeadEvent;
+import com.torchmind.mango.event.utility.DeadEventPolicy;
+import com.torchmind.mango.event.utility.KeyedEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.management.ObjectName;
 
 /**
  * Provides an event bus which keeps track of event subscriptions and permits the broadcasting of
@@ -46,19 +81,201 @@ import java.util.function.Consumer;
  */
 public class EventBus {
 
+  /**
+   * Receives the references of child buses once they have been garbage collected.
+   */
+  private static final ReferenceQueue<EventBus> COLLECTED_CHILDREN = new ReferenceQueue<>();
+  private static final ChildReference[] NO_DESCENDANTS = new ChildReference[0];
+
   private final FunctionalReadWriteLock lock = FunctionalReadWriteLock
       .wrap(new ReentrantReadWriteLock());
 
   private final EventBus parent;
-  private final Set<EventBus> children = Collections.newSetFromMap(new WeakHashMap<>());
-  private final SubscriptionRegistry registry = new SubscriptionRegistry();
+  private final Builder configuration;
+  private final List<ChildReference> children = new ArrayList<>();
+  private volatile ChildReference[] directChildren = NO_DESCENDANTS;
+  private volatile ChildReference[] descendants = NO_DESCENDANTS;
+  private final SubscriptionRegistry registry;
+  private final boolean compiledDispatch;
+  private final Executor executor;
+  private final Executor subscriberExecutor;
+  private final Consumer<Object> overflowHandler;
+  private final ForkJoinPool broadcastPool;
+  private final Instrumentation instrumentation;
+  private final DeadEventPolicy deadEventPolicy;
+  private final TypeCounter deadEvents = new TypeCounter();
+  private final StickyEventCache stickyEvents;
+  private final EventCoalescer coalescer;
 
   public EventBus() {
-    this.parent = null;
+    this(new Builder());
+  }
+
+  protected EventBus(@NonNull Builder builder) {
+    this(null, builder);
   }
 
   protected EventBus(@NonNull EventBus parent) {
+    this(parent, parent.configuration);
+  }
+
+  private EventBus(@Nullable EventBus parent, @NonNull Builder configuration) {
     this.parent = parent;
+    this.configuration = new Builder(configuration);
+    this.registry = new SubscriptionRegistry(configuration.maximumCacheSize,
+        configuration.evictionPolicy);
+    this.compiledDispatch = configuration.compiledDispatch;
+    this.executor = configuration.executor;
+    this.subscriberExecutor = configuration.subscriberExecutor;
+    this.overflowHandler = configuration.overflowHandler;
+    this.broadcastPool = configuration.parallelBroadcast ? configuration.broadcastPool : null;
+    this.deadEventPolicy = configuration.deadEventPolicy;
+
+    if (!configuration.stickyEventTypes.isEmpty()) {
+      this.stickyEvents = new StickyEventCache(configuration.stickyEventTypes,
+          configuration.maximumStickyEvents, configuration.stickyEventTimeToLive);
+    } else {
+      this.stickyEvents = null;
+    }
+
+    if (!configuration.coalescingRules.isEmpty()) {
+      ScheduledExecutorService scheduler = configuration.coalescingScheduler;
+
+      if (scheduler == null) {
+        scheduler = ExecutorFactory.getCoalescingScheduler();
+      }
+
+      this.coalescer = new EventCoalescer(configuration.coalescingRules.values(), scheduler,
+          this.executor, this::deliver);
+    } else {
+      this.coalescer = null;
+    }
+
+    if (configuration.instrumentation) {
+      this.instrumentation = new Instrumentation();
+      this.instrumentation.registerMBean();
+    } else {
+      this.instrumentation = null;
+    }
+  }
+
+  /**
+   * <p>Retrieves a point-in-time view of the statistics of the subscription queue cache within this
+   * bus.</p>
+   *
+   * <p>Note that child buses maintain their own respective caches and are thus not included in the
+   * returned statistics.</p>
+   *
+   * @return a set of statistics.
+   */
+  @NonNull
+  public CacheStatistics getCacheStatistics() {
+    return this.registry.getStatistics();
+  }
+
+  /**
+   * <p>Retrieves the amount of events per event type which have been posted to this bus without
+   * any matching subscriptions.</p>
+   *
+   * <p>Dead events are only counted when enabled via {@link
+   * Builder#withDeadEventPolicy(DeadEventPolicy)}. Counted event types are only weakly referenced
+   * and are thus omitted once they have been unloaded.</p>
+   *
+   * @return an unmodifiable point-in-time map of event types and their respective counts.
+   */
+  @NonNull
+  public Map<Class<?>, Long> getDeadEventCounts() {
+    return this.deadEvents.getCounts();
+  }
+
+  /**
+   * <p>Retrieves the amount of events per event type which have been superseded by a more recent
+   * event with the same key before being dispatched.</p>
+   *
+   * <p>Events are only coalesced when their type has been selected via {@link
+   * Builder#withCoalescing(Class, Function, long, TimeUnit)}.</p>
+   *
+   * @return an unmodifiable point-in-time map of event types and their respective counts.
+   */
+  @NonNull
+  public Map<Class<?>, Long> getCoalescedEventCounts() {
+    if (this.coalescer == null) {
+      return Collections.emptyMap();
+    }
+
+    return this.coalescer.getCoalescedCounts();
+  }
+
+  /**
+   * <p>Immediately dispatches all events which are currently held back by the coalescing stage of
+   * this bus.</p>
+   *
+   * <p>Events are dispatched within the calling thread. This method is typically invoked prior to
+   * shutting down an application in order to avoid losing the most recent state of a key.</p>
+   */
+  public void flushCoalescedEvents() {
+    if (this.coalescer != null) {
+      this.coalescer.flush();
+    }
+  }
+
+  /**
+   * <p>Retrieves the most recently posted event of the indicated type.</p>
+   *
+   * <p>Events are only retained when their type has been selected via {@link
+   * Builder#withStickyEventType(Class[])}.</p>
+   *
+   * @param type an exact event type.
+   * @param <E> an event type.
+   * @return an event or null if no unexpired event of the type has been retained.
+   */
+  @Nullable
+  public <E> E getStickyEvent(@NonNull Class<E> type) {
+    if (this.stickyEvents == null) {
+      return null;
+    }
+
+    return type.cast(this.stickyEvents.get(type));
+  }
+
+  /**
+   * Removes the most recently posted event of the indicated type from the sticky event cache of
+   * this bus.
+   *
+   * @param type an exact event type.
+   * @param <E> an event type.
+   * @return the removed event or null if no event of the type has been retained.
+   */
+  @Nullable
+  public <E> E removeStickyEvent(@NonNull Class<E> type) {
+    if (this.stickyEvents == null) {
+      return null;
+    }
+
+    return type.cast(this.stickyEvents.remove(type));
+  }
+
+  /**
+   * Removes all events from the sticky event cache of this bus.
+   */
+  public void clearStickyEvents() {
+    if (this.stickyEvents != null) {
+      this.stickyEvents.clear();
+    }
+  }
+
+  /**
+   * <p>Retrieves the instrumentation which records the metrics of this bus.</p>
+   *
+   * <p>Each instrumented bus (including child buses) maintains its own metrics which are
+   * registered with the platform MBean server upon construction.</p>
+   *
+   * @return an instrumentation or null if instrumentation is disabled.
+   * @see Builder#withInstrumentation(boolean)
+   */
+  @Nullable
+  public Instrumentation getInstrumentation() {
+    return this.instrumentation;
   }
 
   /**
@@ -69,6 +286,8 @@ public class EventBus {
    * child buses strongly referenced. If a bus is no longer strongly referenced, it will eventually
    * stop broadcasting events to its listeners.</p>
    *
+   * <p>Child buses inherit the configuration of their parent.</p>
+   *
    * @return a child event bus.
    */
   @NonNull
@@ -84,10 +303,101 @@ public class EventBus {
    * <p>Note that child buses should <strong>always</strong> be constructed using the {@link
    * #EventBus(EventBus)} constructor in order to inform them of their parent.</p>
    *
+   * <p>Registering a child causes the broadcast targets of this bus and all of its ancestors to be
+   * re-computed. As such, this operation is comparatively expensive within large trees.</p>
+   *
    * @param eventBus a child event bus.
    */
   protected final void registerChild(@NonNull EventBus eventBus) {
-    this.lock.writeLock().runProtected(() -> this.children.add(eventBus));
+    expungeCollectedChildren();
+
+    this.lock.writeLock().runProtected(() -> {
+      for (ChildReference reference : this.children) {
+        if (reference.get() == eventBus) {
+          return;
+        }
+      }
+
+      this.children.add(new ChildReference(this, eventBus));
+    });
+
+    this.rebuildDescendants();
+  }
+
+  /**
+   * <p>Removes all child buses which have been garbage collected since the last invocation from
+   * their respective parents.</p>
+   *
+   * <p>Collected children are shared between all buses and are thus expunged by whichever bus
+   * happens to post or broadcast next.</p>
+   */
+  private static void expungeCollectedChildren() {
+    Reference<? extends EventBus> reference;
+
+    while ((reference = COLLECTED_CHILDREN.poll()) != null) {
+      ChildReference child = (ChildReference) reference;
+      EventBus owner = child.owner.get();
+
+      if (owner != null) {
+        owner.rebuildDescendants();
+      }
+
+      if (child.objectName != null) {
+        Instrumentation.unregisterMBean(child.objectName);
+      }
+    }
+  }
+
+  /**
+   * Retrieves all live descendants of this bus.
+   *
+   * @return an array of references in broadcast order.
+   */
+  @NonNull
+  private ChildReference[] getDescendants() {
+    expungeCollectedChildren();
+    return this.descendants;
+  }
+
+  /**
+   * <p>Re-computes the flattened list of descendants within this bus and all of its
+   * ancestors.</p>
+   *
+   * <p>The resulting list is ordered depth-first (e.g. each child is directly followed by its own
+   * descendants) and thus preserves the order in which a recursive broadcast would reach each
+   * bus.</p>
+   */
+  private void rebuildDescendants() {
+    EventBus bus = this;
+
+    while (bus != null) {
+      EventBus current = bus;
+
+      current.lock.writeLock().runProtected(() -> {
+        List<ChildReference> directChildren = new ArrayList<>();
+        List<ChildReference> descendants = new ArrayList<>();
+        Iterator<ChildReference> it = current.children.iterator();
+
+        while (it.hasNext()) {
+          ChildReference reference = it.next();
+          EventBus child = reference.get();
+
+          if (child == null) {
+            it.remove();
+            continue;
+          }
+
+          directChildren.add(reference);
+          descendants.add(reference);
+          Collections.addAll(descendants, child.descendants);
+        }
+
+        current.directChildren = directChildren.toArray(NO_DESCENDANTS);
+        current.descendants = descendants.toArray(NO_DESCENDANTS);
+      });
+
+      bus = bus.parent;
+    }
   }
 
   /**
@@ -98,14 +408,107 @@ public class EventBus {
    * within child event buses and will thus be called first regardless of their order relative to
    * child listeners.</p>
    *
+   * <p>This method does not acquire any locks. Instead, it passes the event to a flattened list
+   * of all descendants which is re-computed whenever a child is registered or collected.</p>
+   *
+   * <p>When parallel broadcasting is enabled, the child buses are notified concurrently on the
+   * configured broadcast pool once all listeners within this bus have been invoked. Each child
+   * still notifies its own listeners before passing the event on to its respective children. This
+   * method returns once all buses within the tree have been notified.</p>
+   *
    * @param event an event.
    * @see #post(Object)
+   * @see Builder#withParallelBroadcast(boolean)
    */
   public void broadcast(@NonNull Object event) {
-    this.lock.readLock().runProtected(() -> {
-      this.doPost(event);
-      this.children.forEach((child) -> child.broadcast(event));
-    });
+    this.doPost(event);
+
+    if (this.broadcastPool != null) {
+      this.forkChildren((bus) -> bus.doPost(event));
+      return;
+    }
+
+    for (ChildReference reference : this.getDescendants()) {
+      EventBus child = reference.get();
+
+      if (child != null) {
+        child.doPost(event);
+      }
+    }
+  }
+
+  /**
+   * <p>Broadcasts a batch of events to all listeners which expressed their interest in the
+   * respective event types as well as all child event buses.</p>
+   *
+   * <p>Each bus passes the entire batch to its own listeners (in the order of the batch) before
+   * the batch is passed on to its child buses. Listeners of a given bus thus observe the events in
+   * the same order as if they were broadcast one by one.</p>
+   *
+   * @param events a batch of events.
+   * @see #broadcast(Object)
+   * @see #postAll(Iterable)
+   */
+  public void broadcastAll(@NonNull Iterable<?> events) {
+    List<Object> batch = new ArrayList<>();
+    events.forEach(batch::add);
+
+    this.doBroadcastAll(batch);
+  }
+
+  /**
+   * @see #broadcastAll(Iterable)
+   */
+  private void doBroadcastAll(@NonNull List<Object> batch) {
+    this.doPostAll(batch);
+
+    if (this.broadcastPool != null) {
+      this.forkChildren((bus) -> bus.doPostAll(batch));
+      return;
+    }
+
+    for (ChildReference reference : this.getDescendants()) {
+      EventBus child = reference.get();
+
+      if (child != null) {
+        child.doPostAll(batch);
+      }
+    }
+  }
+
+  /**
+   * Concurrently applies an action to all descendants of this bus using the broadcast pool.
+   *
+   * @param action an action.
+   */
+  private void forkChildren(@NonNull Consumer<EventBus> action) {
+    expungeCollectedChildren();
+
+    if (this.directChildren.length != 0) {
+      this.broadcastPool.invoke(new BroadcastTask(this, action, false));
+    }
+  }
+
+  /**
+   * <p>Asynchronously broadcasts an event to all listeners which expressed their interest in this
+   * event type as well as all child event buses.</p>
+   *
+   * <p>The entire broadcast is performed as a single task on the executor of this bus. Listeners
+   * are thus invoked in the same order as with {@link #broadcast(Object)} and cancellation states
+   * propagate between them as usual.</p>
+   *
+   * @param event an event.
+   * @param <E> an event type.
+   * @return a future which completes with the event once all listeners have been invoked or
+   * completes exceptionally when any listener fails.
+   * @see #broadcast(Object)
+   */
+  @NonNull
+  public <E> CompletableFuture<E> broadcastAsync(@NonNull E event) {
+    return CompletableFuture.supplyAsync(() -> {
+      this.broadcast(event);
+      return event;
+    }, this.executor);
   }
 
   /**
@@ -117,20 +520,180 @@ public class EventBus {
    * @see #broadcast(Object)
    */
   public void post(@NonNull Object event) {
-    this.lock.readLock().runProtected(() -> this.doPost(event));
+    expungeCollectedChildren();
+    this.doPost(event);
   }
 
   /**
+   * <p>Posts a batch of events to all listeners which expressed their interest in the respective
+   * event types.</p>
+   *
+   * <p>This method is semantically equivalent to posting each event of the batch in order but
+   * resolves the subscriptions of each event type only once for the entire batch. All events are
+   * passed to the subscriptions which were registered at the time of invocation.</p>
+   *
+   * <p>Note that this method will not notify any child buses.</p>
+   *
+   * @param events a batch of events.
    * @see #post(Object)
+   * @see #broadcastAll(Iterable)
    */
-  private void doPost(@NonNull Object event) {
-    this.registry.getSubscriptions(event.getClass()).forEach((subscription) -> {
-      if (!subscription.accepts(event)) {
-        return;
+  public void postAll(@NonNull Iterable<?> events) {
+    expungeCollectedChildren();
+    this.doPostAll(events);
+  }
+
+  /**
+   * @see #postAll(Iterable)
+   */
+  private void doPostAll(@NonNull Iterable<?> events) {
+    Snapshot snapshot = this.registry.getSnapshot();
+    Map<Class<?>, SubscriptionQueue> queues = null;
+
+    Class<?> type = null;
+    SubscriptionQueue queue = null;
+
+    for (Object event : events) {
+      if (this.coalescer != null && this.coalescer.offer(event)) {
+        continue;
       }
 
-      subscription.handle(event);
-    });
+      Class<?> eventType = event.getClass();
+
+      if (this.stickyEvents != null) {
+        this.stickyEvents.retain(event);
+      }
+
+      if (eventType != type) {
+        if (queues == null) {
+          queues = new IdentityHashMap<>();
+        } else {
+          queues.put(type, queue);
+        }
+
+        type = eventType;
+        queue = queues.get(eventType);
+
+        if (queue == null) {
+          queue = snapshot.getQueue(eventType);
+        }
+      }
+
+      if (queue.isEmpty()) {
+        this.handleDeadEvent(event);
+        continue;
+      }
+
+      Object recording = FlightRecording.beginPost();
+      this.dispatch(queue, event);
+      FlightRecording.commitPost(recording, eventType, queue.size());
+    }
+  }
+
+  /**
+   * <p>Asynchronously posts an event to all listeners which expressed their interest in this event
+   * type.</p>
+   *
+   * <p>The event is passed to all listeners within a single task on the executor of this bus.
+   * Listeners are thus invoked in the same order as with {@link #post(Object)} and cancellation
+   * states propagate between them as usual.</p>
+   *
+   * @param event an event.
+   * @param <E> an event type.
+   * @return a future which completes with the event once all listeners have been invoked or
+   * completes exceptionally when any listener fails.
+   * @see #post(Object)
+   */
+  @NonNull
+  public <E> CompletableFuture<E> postAsync(@NonNull E event) {
+    return CompletableFuture.supplyAsync(() -> {
+      this.post(event);
+      return event;
+    }, this.executor);
+  }
+
+  /**
+   * <p>Passes an event to all matching subscriptions within this bus.</p>
+   *
+   * <p>This method does not acquire any locks. Instead, it operates on the most recent registry
+   * snapshot which is retrieved with a single volatile read. Subscriptions which are registered or
+   * removed while the event is being handled will thus not affect the current invocation.</p>
+   *
+   * <p>Events without any matching subscriptions return immediately after the queue lookup and are
+   * handled according to the dead event policy of this bus.</p>
+   *
+   * <p>Events of coalesced types are held back by the coalescing stage and dispatched once their
+   * window closes (unless superseded).</p>
+   *
+   * @see #post(Object)
+   */
+  private void doPost(@NonNull Object event) {
+    if (this.coalescer != null && this.coalescer.offer(event)) {
+      return;
+    }
+
+    this.deliver(event);
+  }
+
+  /**
+   * Passes an event to all matching subscriptions within this bus without consulting the
+   * coalescing stage.
+   *
+   * @param event an event.
+   * @see #doPost(Object)
+   */
+  private void deliver(@NonNull Object event) {
+    if (this.stickyEvents != null) {
+      this.stickyEvents.retain(event);
+    }
+
+    SubscriptionQueue queue = this.registry.getSnapshot().getQueue(event.getClass());
+
+    if (queue.isEmpty()) {
+      this.handleDeadEvent(event);
+      return;
+    }
+
+    Object recording = FlightRecording.beginPost();
+    this.dispatch(queue, event);
+    FlightRecording.commitPost(recording, event.getClass(), queue.size());
+  }
+
+  /**
+   * Applies the dead event policy of this bus to an event without any matching subscriptions.
+   *
+   * @param event an event.
+   * @see Builder#withDeadEventPolicy(DeadEventPolicy)
+   */
+  private void handleDeadEvent(@NonNull Object event) {
+    if (this.deadEventPolicy == DeadEventPolicy.IGNORE) {
+      return;
+    }
+
+    this.deadEvents.increment(event.getClass());
+
+    if (this.deadEventPolicy == DeadEventPolicy.REPUBLISH && !(event instanceof DeadEvent)) {
+      this.doPost(new DeadEvent(this, event));
+    }
+  }
+
+  /**
+   * Passes an event to all matching subscriptions within a queue using the dispatch mode of this
+   * bus.
+   *
+   * @param queue a queue.
+   * @param event an event.
+   */
+  private void dispatch(@NonNull SubscriptionQueue queue, @NonNull Object event) {
+    if (this.instrumentation != null) {
+      this.instrumentation.dispatch(queue, event);
+    } else if (FlightRecording.isHandlerRecordingEnabled()) {
+      FlightRecording.dispatch(queue, event);
+    } else if (this.compiledDispatch) {
+      queue.dispatchCompiled(event);
+    } else {
+      queue.dispatch(event);
+    }
   }
 
   /**
@@ -144,71 +707,64 @@ public class EventBus {
   }
 
   /**
-   * Registers an arbitrarily defined subscription with this event bus.
+   * <p>Registers an arbitrarily defined subscription with this event bus.</p>
+   *
+   * <p>When sticky events are enabled, all retained events which are accepted by the subscription
+   * are passed to it immediately after its registration. Since events which are posted
+   * concurrently may also be dispatched to the subscription, it may observe the most recent event
+   * of a type twice.</p>
    *
    * @param subscription a subscription.
+   * @see Builder#withStickyEventType(Class[])
    */
   public void register(@NonNull Subscription subscription) {
-    this.lock.writeLock().runProtected(() -> this.registry.register(subscription));
+    this.registry.register(subscription);
+
+    if (this.instrumentation != null) {
+      this.instrumentation.restore(subscription);
+    }
+
+    if (this.stickyEvents != null) {
+      for (Object event : this.stickyEvents.getEvents()) {
+        if (subscription.accepts(event.getClass()) && subscription.accepts(event)) {
+          subscription.handle(event);
+        }
+      }
+    }
   }
 
   /**
-   * Registers all annotated handlers within a given object with this event bus.
+   * <p>Registers all annotated handlers within a given object with this event bus.</p>
+   *
+   * <p>When an adapter has been generated for the exact type of the object at compile time (see
+   * {@link SubscriberAdapter}), the handlers are registered through the adapter. Otherwise, the
+   * handlers are discovered reflectively once per type and subsequently bound to each registered
+   * instance.</p>
    *
    * @param object an arbitrary object.
    * @return a subscription handle.
    */
   @NonNull
+  @SuppressWarnings("unchecked")
   public SubscriptionHandle register(@NonNull Object object) {
     Set<SubscriptionHandle> handles = new HashSet<>();
 
-    ReflectionUtility.getUniqueMethods(object.getClass()).forEach((method) -> {
-      Subscribe annotation = method.getAnnotation(Subscribe.class);
-
-      if (annotation == null) {
-        return;
-      }
-      annotation = AnnotationUtility.decorate(annotation);
-
-      Class<?>[] eventTypes;
-
-      if (method.getParameterCount() > 1) {
-        throw new IllegalArgumentException("Illegal subscription for method " + method
-            + ": Expecting exactly zero or one parameter");
-      }
-
-      if (annotation.eventType().length == 0) {
-        throw new IllegalArgumentException(
-            "Illegal subscription for method " + method + ": Expected one or more event types");
-      }
-
-      if (annotation.eventType()[0] != DefaultValue.class) {
-        eventTypes = annotation.eventType();
-      } else {
-        if (method.getParameterCount() != 1) {
-          throw new IllegalArgumentException(
-              "Illegal subscription for method " + method + ": Cannot infer accepted event type");
-        }
+    SubscriberAdapter<Object> adapter = (SubscriberAdapter<Object>) SubscriberAdapters
+        .getAdapter(object.getClass());
 
-        eventTypes = new Class[]{method.getParameterTypes()[0]};
-      }
-
-      SubscriptionBuilder builder = new SubscriptionBuilder()
-          .withFilter(
-              new EventFilter.Builder()
-                  .withEventType(eventTypes)
-                  .withAcceptCancelled(annotation.acceptCancelled())
-                  .withAcceptHeirs(annotation.acceptHeirs())
-                  .build()
-          )
-          .withPriority(annotation.priority());
+    if (adapter != null) {
+      adapter.register(this, object, handles);
+      return new CollectionSubscriptionHandle(handles);
+    }
 
-      if (method.getParameterCount() == 0) {
-        handles.add(builder.register(FunctionalFactory.createRunnable(object, method)));
-      } else {
-        handles.add(builder.register(FunctionalFactory.createConsumer(object, method)));
-      }
-    });
+    for (SubscriberTemplate.Handler handler : SubscriberTemplate.of(object.getClass())
+        .getHandlers()) {
+      handles.add(new SubscriptionBuilder()
+          .withAsync(handler.isAsync())
+          .withQueueCapacity(handler.getQueueCapacity())
+          .withOverflowPolicy(handler.getOverflowPolicy())
+          .doRegister(handler.bind(object), handler.getName()));
+    }
 
     return new CollectionSubscriptionHandle(handles);
   }
@@ -220,7 +776,7 @@ public class EventBus {
    * @return true if registered, false otherwise.
    */
   public boolean isRegistered(@NonNull Subscription subscription) {
-    return this.lock.readLock().runProtected(() -> this.registry.isRegistered(subscription));
+    return this.registry.isRegistered(subscription);
   }
 
   /**
@@ -229,16 +785,471 @@ public class EventBus {
    * @param subscription a subscription.
    */
   public void unregister(@NonNull Subscription subscription) {
-    this.lock.writeLock().runProtected(() -> this.registry.unregister(subscription));
+    this.registry.unregister(subscription);
+
+    if (this.instrumentation != null) {
+      this.instrumentation.unregister(subscription);
+    }
   }
 
   /**
-   * Provides a factory for subscription registrations.
+   * <p>Applies a broadcast action to a bus and forks a sub task for each of its children.</p>
+   *
+   * <p>Tasks are never serialized (their bus and action are not serializable) and thus do not
+   * declare a serial version.</p>
    */
-  public final class SubscriptionBuilder {
+  @SuppressWarnings("serial")
+  private static final class BroadcastTask extends RecursiveAction {
+
+    private final EventBus bus;
+    private final Consumer<EventBus> action;
+    private final boolean includeSelf;
+
+    private BroadcastTask(@NonNull EventBus bus, @NonNull Consumer<EventBus> action,
+        boolean includeSelf) {
+      this.bus = bus;
+      this.action = action;
+      this.includeSelf = includeSelf;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void compute() {
+      if (this.includeSelf) {
+        this.action.accept(this.bus);
+      }
+
+      ChildReference[] children = this.bus.directChildren;
+      List<BroadcastTask> tasks = new ArrayList<>(children.length);
+
+      for (ChildReference reference : children) {
+        EventBus child = reference.get();
+
+        if (child != null) {
+          tasks.add(new BroadcastTask(child, this.action, true));
+        }
+      }
+
+      invokeAll(tasks);
+    }
+  }
+
+  /**
+   * <p>Weakly references a child bus along with the parent which is responsible for it and
+   * retains the name of the instrumentation bean which needs to be removed from the MBean server
+   * once the child has been collected.</p>
+   *
+   * <p>References additionally retain the list of children of their child bus. When a bus is
+   * collected along with its children, the references of its children thus remain reachable and
+   * are enqueued as well.</p>
+   */
+  private static final class ChildReference extends WeakReference<EventBus> {
+
+    private final WeakReference<EventBus> owner;
+    @SuppressWarnings("unused")
+    private final List<ChildReference> children;
+    private final ObjectName objectName;
+
+    private ChildReference(@NonNull EventBus owner, @NonNull EventBus child) {
+      super(child, COLLECTED_CHILDREN);
+      this.owner = new WeakReference<>(owner);
+      this.children = child.children;
+      this.objectName = child.instrumentation != null
+          ? child.instrumentation.getObjectName() : null;
+    }
+  }
+
+  /**
+   * Provides a factory for event buses.
+   */
+  public static final class Builder {
+
+    /**
+     * Defines the default maximum amount of sticky events which are retained by a bus.
+     */
+    public static final int DEFAULT_MAXIMUM_STICKY_EVENTS = 64;
+
+    private int maximumCacheSize = SubscriptionRegistry.DEFAULT_MAXIMUM_CACHE_SIZE;
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LEAST_RECENTLY_USED;
+    private boolean compiledDispatch;
+    private Executor executor = ForkJoinPool.commonPool();
+    private Executor subscriberExecutor;
+    private Consumer<Object> overflowHandler;
+    private boolean parallelBroadcast;
+    private ForkJoinPool broadcastPool = ForkJoinPool.commonPool();
+    private boolean instrumentation;
+    private DeadEventPolicy deadEventPolicy = DeadEventPolicy.IGNORE;
+    private Set<Class<?>> stickyEventTypes = new HashSet<>();
+    private int maximumStickyEvents = DEFAULT_MAXIMUM_STICKY_EVENTS;
+    private long stickyEventTimeToLive;
+    private Map<Class<?>, EventCoalescer.Rule> coalescingRules = new LinkedHashMap<>();
+    private ScheduledExecutorService coalescingScheduler;
+
+    public Builder() {
+    }
+
+    private Builder(@NonNull Builder builder) {
+      this.maximumCacheSize = builder.maximumCacheSize;
+      this.evictionPolicy = builder.evictionPolicy;
+      this.compiledDispatch = builder.compiledDispatch;
+      this.executor = builder.executor;
+      this.subscriberExecutor = builder.subscriberExecutor;
+      this.overflowHandler = builder.overflowHandler;
+      this.parallelBroadcast = builder.parallelBroadcast;
+      this.broadcastPool = builder.broadcastPool;
+      this.instrumentation = builder.instrumentation;
+      this.deadEventPolicy = builder.deadEventPolicy;
+      this.stickyEventTypes = new HashSet<>(builder.stickyEventTypes);
+      this.maximumStickyEvents = builder.maximumStickyEvents;
+      this.stickyEventTimeToLive = builder.stickyEventTimeToLive;
+      this.coalescingRules = new LinkedHashMap<>(builder.coalescingRules);
+      this.coalescingScheduler = builder.coalescingScheduler;
+    }
+
+    /**
+     * Creates a new event bus based on the configuration within this builder.
+     *
+     * @return an event bus.
+     */
+    @NonNull
+    public EventBus build() {
+      return new EventBus(this);
+    }
+
+    /**
+     * <p>Selects the pool on which child buses are notified when parallel broadcasting is
+     * enabled.</p>
+     *
+     * <p>By default, the common {@link ForkJoinPool} is used.</p>
+     *
+     * @param broadcastPool a fork join pool.
+     * @return a reference to this builder.
+     * @see #withParallelBroadcast(boolean)
+     */
+    @NonNull
+    public Builder withBroadcastPool(@NonNull ForkJoinPool broadcastPool) {
+      this.broadcastPool = broadcastPool;
+      return this;
+    }
+
+    /**
+     * <p>Selects an event type of which bursts shall be coalesced before being dispatched.</p>
+     *
+     * <p>The first posted event of a given key (as returned by the key extractor) is held back
+     * for the duration of the window. Events with the same key which are posted within the window
+     * supersede their predecessors which are dropped without ever being dispatched. Once the window
+     * closes, only the most recent event is dispatched on the executor of the bus. Events for which
+     * the key extractor returns null are dispatched immediately.</p>
+     *
+     * <p>Heirs of the selected type share the rule (and thus the keys) of the type. When multiple
+     * selected types match an event, the type which has been selected first takes precedence.
+     * Selecting the same type again replaces its previous rule.</p>
+     *
+     * <p>Note that coalesced events are dispatched asynchronously and thus any changes to their
+     * cancellation state will not be observed by the publisher.</p>
+     *
+     * @param type an event type.
+     * @param keyExtractor a function which extracts the coalescing key of an event.
+     * @param window the length of the coalescing window.
+     * @param unit the unit of the window length.
+     * @param <E> an event type.
+     * @return a reference to this builder.
+     * @throws IllegalArgumentException when the window is zero or negative.
+     * @see EventBus#getCoalescedEventCounts()
+     * @see EventBus#flushCoalescedEvents()
+     */
+    @NonNull
+    public <E> Builder withCoalescing(@NonNull Class<E> type,
+        @NonNull Function<? super E, ?> keyExtractor, long window, @NonNull TimeUnit unit) {
+      if (window <= 0) {
+        throw new IllegalArgumentException(
+            "Illegal coalescing window: Expected a positive amount but got " + window);
+      }
+
+      this.coalescingRules.put(type, new EventCoalescer.Rule(type, keyExtractor,
+          unit.toNanos(window)));
+      return this;
+    }
+
+    /**
+     * <p>Selects the scheduler on which coalescing windows are closed.</p>
+     *
+     * <p>The scheduler merely hands the events of closed windows to the executor of the bus. By
+     * default, a shared scheduler with a single daemon thread is used.</p>
+     *
+     * @param coalescingScheduler a scheduler or null to use the default scheduler.
+     * @return a reference to this builder.
+     * @see #withCoalescing(Class, Function, long, TimeUnit)
+     */
+    @NonNull
+    public Builder withCoalescingScheduler(
+        @Nullable ScheduledExecutorService coalescingScheduler) {
+      this.coalescingScheduler = coalescingScheduler;
+      return this;
+    }
+
+    /**
+     * <p>Selects whether the bus shall record invocation counts, filter rejections and latencies
+     * for each of its subscriptions and event types.</p>
+     *
+     * <p>When enabled, the metrics of each bus are published via a dedicated MBean within the
+     * platform MBean server (see {@link Instrumentation#DOMAIN}). Root buses which are discarded
+     * before the application terminates should be removed from the server via {@link
+     * Instrumentation#unregisterMBean()}. The beans of child buses are removed automatically
+     * once the collection of the child has been noticed by its parent. Note that compiled
+     * dispatch is unavailable while instrumentation is enabled.</p>
+     *
+     * <p>By default, instrumentation is disabled and does not incur any overhead.</p>
+     *
+     * @param instrumentation if true enables instrumentation, otherwise disables it.
+     * @return a reference to this builder.
+     * @see EventBus#getInstrumentation()
+     */
+    @NonNull
+    public Builder withInstrumentation(boolean instrumentation) {
+      this.instrumentation = instrumentation;
+      return this;
+    }
+
+    /**
+     * <p>Selects the maximum amount of event types for which subscription queues are cached.</p>
+     *
+     * <p>By default, up to {@link SubscriptionRegistry#DEFAULT_MAXIMUM_CACHE_SIZE} event types are
+     * cached.</p>
+     *
+     * @param maximumCacheSize a number of event types.
+     * @return a reference to this builder.
+     * @throws IllegalArgumentException when the cache size is zero or negative.
+     */
+    @NonNull
+    public Builder withMaximumCacheSize(int maximumCacheSize) {
+      if (maximumCacheSize <= 0) {
+        throw new IllegalArgumentException(
+            "Illegal cache size: Expected a positive value but got " + maximumCacheSize);
+      }
+
+      this.maximumCacheSize = maximumCacheSize;
+      return this;
+    }
+
+    /**
+     * <p>Selects the policy which is applied to events that are posted without any matching
+     * subscriptions.</p>
+     *
+     * <p>By default, dead events are silently discarded.</p>
+     *
+     * @param deadEventPolicy a dead event policy.
+     * @return a reference to this builder.
+     * @see EventBus#getDeadEventCounts()
+     */
+    @NonNull
+    public Builder withDeadEventPolicy(@NonNull DeadEventPolicy deadEventPolicy) {
+      this.deadEventPolicy = deadEventPolicy;
+      return this;
+    }
+
+    /**
+     * <p>Selects the policy which decides which subscription queues are evicted from the cache
+     * once its maximum size is exceeded.</p>
+     *
+     * <p>By default, the least recently used queues are evicted.</p>
+     *
+     * @param evictionPolicy an eviction policy.
+     * @return a reference to this builder.
+     */
+    @NonNull
+    public Builder withEvictionPolicy(@NonNull EvictionPolicy evictionPolicy) {
+      this.evictionPolicy = evictionPolicy;
+      return this;
+    }
+
+    /**
+     * <p>Selects whether frequently posted event types shall be dispatched through generated
+     * dispatchers.</p>
+     *
+     * <p>Generated dispatchers contain a dedicated method handle for each subscription and thus
+     * permit the JIT to inline handlers which would otherwise be invoked through a single
+     * megamorphic call site. They are generated lazily once an event type has been posted {@link
+     * SubscriptionQueue#COMPILATION_THRESHOLD} times and re-generated when the subscriptions for
+     * the event type change.</p>
+     *
+     * <p>By default, compiled dispatch is disabled.</p>
+     *
+     * @param compiledDispatch if true enables compiled dispatch, otherwise disables it.
+     * @return a reference to this builder.
+     */
+    @NonNull
+    public Builder withCompiledDispatch(boolean compiledDispatch) {
+      this.compiledDispatch = compiledDispatch;
+      return this;
+    }
+
+    /**
+     * <p>Selects whether broadcasts shall notify child buses concurrently.</p>
+     *
+     * <p>When enabled, each child bus (along with its own children) is notified within a separate
+     * task on the broadcast pool once all listeners within the broadcasting bus have been invoked.
+     * This reduces the latency of broadcasts within wide trees at the cost of some coordination
+     * overhead and is thus typically only beneficial when a bus has many children or when their
+     * listeners perform significant amounts of work.</p>
+     *
+     * <p>Note that listeners within separate subtrees may observe the same event at the same time
+     * when this option is enabled. Cancellations performed within one subtree are thus not
+     * reliably observed within other subtrees.</p>
+     *
+     * <p>By default, child buses are notified sequentially on the broadcasting thread.</p>
+     *
+     * @param parallelBroadcast if true enables parallel broadcasts, otherwise disables them.
+     * @return a reference to this builder.
+     * @see #withBroadcastPool(ForkJoinPool)
+     */
+    @NonNull
+    public Builder withParallelBroadcast(boolean parallelBroadcast) {
+      this.parallelBroadcast = parallelBroadcast;
+      return this;
+    }
+
+    /**
+     * <p>Selects the executor on which asynchronously posted events as well as coalesced events
+     * are handled.</p>
+     *
+     * <p>By default, the common {@link ForkJoinPool} is used.</p>
+     *
+     * @param executor an executor.
+     * @return a reference to this builder.
+     * @see EventBus#postAsync(Object)
+     * @see EventBus#broadcastAsync(Object)
+     * @see #withCoalescing(Class, Function, long, TimeUnit)
+     */
+    @NonNull
+    public Builder withExecutor(@NonNull Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * <p>Selects the executor on which asynchronous subscriptions handle their events.</p>
+     *
+     * <p>By default, a shared executor is used which runs each invocation within its own virtual
+     * thread when supported by the runtime and falls back to a pool of daemon threads
+     * otherwise.</p>
+     *
+     * @param subscriberExecutor an executor or null to select the default executor.
+     * @return a reference to this builder.
+     * @see SubscriptionBuilder#withAsync(boolean)
+     * @see Subscribe#async()
+     */
+    @NonNull
+    public Builder withSubscriberExecutor(@Nullable Executor subscriberExecutor) {
+      this.subscriberExecutor = subscriberExecutor;
+      return this;
+    }
+
+    /**
+     * <p>Selects the handler which receives overflowing events of bounded asynchronous
+     * subscriptions which have selected {@link OverflowPolicy#CALLBACK} without providing a
+     * handler of their own.</p>
+     *
+     * <p>The handler is invoked within the publishing thread and receives the event which could
+     * not be queued. By default, no handler is configured.</p>
+     *
+     * @param overflowHandler a handler or null to remove the default handler.
+     * @return a reference to this builder.
+     * @see SubscriptionBuilder#withOverflowPolicy(OverflowPolicy)
+     * @see Subscribe#overflowPolicy()
+     */
+    @NonNull
+    public Builder withOverflowHandler(@Nullable Consumer<Object> overflowHandler) {
+      this.overflowHandler = overflowHandler;
+      return this;
+    }
+
+    /**
+     * <p>Selects the maximum amount of sticky events which are retained at any given time.</p>
+     *
+     * <p>Each concrete event type occupies a single slot. Once the limit is exceeded, the event
+     * type which has not been posted for the longest amount of time is evicted.</p>
+     *
+     * <p>By default, up to {@link #DEFAULT_MAXIMUM_STICKY_EVENTS} events are retained.</p>
+     *
+     * @param maximumStickyEvents a maximum amount of events.
+     * @return a reference to this builder.
+     * @throws IllegalArgumentException when the amount is zero or negative.
+     */
+    @NonNull
+    public Builder withMaximumStickyEvents(int maximumStickyEvents) {
+      if (maximumStickyEvents <= 0) {
+        throw new IllegalArgumentException(
+            "Illegal maximum sticky events: Expected a positive amount but got "
+                + maximumStickyEvents);
+      }
+
+      this.maximumStickyEvents = maximumStickyEvents;
+      return this;
+    }
+
+    /**
+     * <p>Selects a set of event types of which the most recently posted instance is retained by the
+     * bus.</p>
+     *
+     * <p>Retained events are passed to every subscription which is registered at a later time and
+     * accepts them. This permits subscriptions to catch up with the current state of a system
+     * without having to query it. Heirs of the selected types are retained within their own
+     * slots.</p>
+     *
+     * <p>Note that this method will append the list of types to the internal set and thus extend it
+     * rather than overwrite it. By default, no events are retained.</p>
+     *
+     * @param types an array of event types.
+     * @return a reference to this builder.
+     * @see EventBus#getStickyEvent(Class)
+     * @see EventBus#removeStickyEvent(Class)
+     */
+    @NonNull
+    public Builder withStickyEventType(@NonNull Class<?>... types) {
+      this.stickyEventTypes.addAll(Arrays.asList(types));
+      return this;
+    }
+
+    /**
+     * <p>Selects the amount of time after which retained sticky events expire.</p>
+     *
+     * <p>Expired events are no longer passed to new subscriptions and are discarded lazily.</p>
+     *
+     * <p>By default, sticky events do not expire.</p>
+     *
+     * @param timeToLive an amount of time or zero to retain events indefinitely.
+     * @param unit the unit of the amount of time.
+     * @return a reference to this builder.
+     * @throws IllegalArgumentException when the amount of time is negative.
+     */
+    @NonNull
+    public Builder withStickyEventTimeToLive(long timeToLive, @NonNull TimeUnit unit) {
+      if (timeToLive < 0) {
+        throw new IllegalArgumentException(
+            "Illegal time to live: Expected a positive amount but got " + timeToLive);
+      }
+
+      this.stickyEventTimeToLive = unit.toNanos(timeToLive);
+      return this;
+    }
+  }
+
+  /**
+   * Provides a factory for subscription registrations.
+   */
+  public final class SubscriptionBuilder {
 
     private EventFilter filter = EventFilter.DEFAULT_FILTER;
     private int priority;
+    private boolean async;
+    private int queueCapacity;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private Consumer<Object> overflowHandler;
+    private String name;
+    private Object key;
 
     private SubscriptionBuilder() {
     }
@@ -251,9 +1262,8 @@ public class EventBus {
      */
     @NonNull
     public SubscriptionHandle register(@NonNull Runnable runnable) {
-      Subscription subscription = new RunnableSubscription(runnable, this.filter, this.priority);
-      EventBus.this.register(subscription);
-      return new SubscriptionHandleImpl(subscription);
+      return this.doRegister(new RunnableSubscription(runnable, this.filter, this.priority),
+          this.name);
     }
 
     /**
@@ -268,9 +1278,8 @@ public class EventBus {
      */
     @NonNull
     public SubscriptionHandle register(@NonNull Consumer<?> consumer) {
-      Subscription subscription = new ConsumerSubscription(consumer, this.filter, this.priority);
-      EventBus.this.register(subscription);
-      return new SubscriptionHandleImpl(subscription);
+      return this.doRegister(new ConsumerSubscription(consumer, this.filter, this.priority),
+          this.name);
     }
 
     /**
@@ -288,18 +1297,197 @@ public class EventBus {
      */
     @NonNull
     public SubscriptionHandle register(@Nullable Object instance, @NonNull Method method) {
+      String name = this.name;
+
+      if (name == null) {
+        name = method.getDeclaringClass().getName() + "#" + method.getName();
+      }
+
       if (method.getParameterCount() == 0) {
-        return this.register(FunctionalFactory.createRunnable(instance, method));
+        return this.doRegister(new RunnableSubscription(
+            FunctionalFactory.createRunnable(instance, method), this.filter, this.priority), name);
       }
 
       if (method.getParameterCount() == 1) {
-        return this.register(FunctionalFactory.createConsumer(instance, method));
+        return this.doRegister(new ConsumerSubscription(
+            FunctionalFactory.createConsumer(instance, method), this.filter, this.priority), name);
       }
 
       throw new IllegalArgumentException(
           "Illegal method subscription: Expected zero or one parameters");
     }
 
+    /**
+     * Applies the execution related configuration within this factory to a subscription and
+     * registers it with the event bus.
+     *
+     * @param subscription a subscription.
+     * @param name a human readable name which identifies the subscription within its metrics.
+     * @return a subscription handle.
+     * @throws IllegalArgumentException when {@link OverflowPolicy#CALLBACK} has been selected
+     * without an overflow handler.
+     */
+    @NonNull
+    private SubscriptionHandle doRegister(@NonNull Subscription subscription,
+        @Nullable String name) {
+      BoundedAsyncSubscription queue = null;
+
+      if (this.async) {
+        Executor executor = EventBus.this.subscriberExecutor;
+
+        if (executor == null) {
+          executor = ExecutorFactory.getSubscriberExecutor();
+        }
+
+        if (this.queueCapacity != 0) {
+          Consumer<Object> overflowHandler = this.overflowHandler;
+
+          if (overflowHandler == null) {
+            overflowHandler = EventBus.this.overflowHandler;
+          }
+
+          queue = new BoundedAsyncSubscription(subscription, executor, this.queueCapacity,
+              this.overflowPolicy, overflowHandler);
+          subscription = queue;
+        } else {
+          subscription = new AsyncSubscription(subscription, executor);
+        }
+      }
+
+      if (this.key != null) {
+        subscription = new KeyedSubscription(subscription, this.key);
+      }
+
+      if (name != null && EventBus.this.instrumentation != null) {
+        EventBus.this.instrumentation.register(subscription, name);
+      }
+
+      if (queue != null && EventBus.this.instrumentation != null) {
+        EventBus.this.instrumentation.registerQueue(subscription, queue);
+      }
+
+      EventBus.this.register(subscription);
+      return new SubscriptionHandleImpl(subscription);
+    }
+
+    /**
+     * <p>Selects whether the subscription handles events asynchronously.</p>
+     *
+     * <p>When enabled, the filter is still evaluated within the publishing thread while the
+     * handler itself is invoked on the subscriber executor of the event bus (see {@link
+     * Builder#withSubscriberExecutor(Executor)}).</p>
+     *
+     * <p>By default, subscriptions handle events synchronously.</p>
+     *
+     * @param async if true handles events asynchronously, otherwise synchronously.
+     * @return a reference to this builder.
+     * @see Subscribe#async()
+     * @see #withQueueCapacity(int)
+     */
+    @NonNull
+    public SubscriptionBuilder withAsync(boolean async) {
+      this.async = async;
+      return this;
+    }
+
+    /**
+     * <p>Selects the handler which receives events that cannot be queued by a bounded asynchronous
+     * subscription when {@link OverflowPolicy#CALLBACK} is selected.</p>
+     *
+     * <p>By default, the overflow handler of the event bus is used (see {@link
+     * Builder#withOverflowHandler(Consumer)}).</p>
+     *
+     * @param overflowHandler a handler or null to select the default handler.
+     * @return a reference to this builder.
+     */
+    @NonNull
+    public SubscriptionBuilder withOverflowHandler(@Nullable Consumer<Object> overflowHandler) {
+      this.overflowHandler = overflowHandler;
+      return this;
+    }
+
+    /**
+     * <p>Selects the strategy which is applied once the queue of a bounded asynchronous
+     * subscription has reached its capacity.</p>
+     *
+     * <p>By default, publishers wait for the subscription to catch up.</p>
+     *
+     * @param overflowPolicy a policy.
+     * @return a reference to this builder.
+     * @see #withQueueCapacity(int)
+     * @see Subscribe#overflowPolicy()
+     */
+    @NonNull
+    public SubscriptionBuilder withOverflowPolicy(@NonNull OverflowPolicy overflowPolicy) {
+      this.overflowPolicy = overflowPolicy;
+      return this;
+    }
+
+    /**
+     * <p>Selects the maximum amount of events which may be pending within an asynchronous
+     * subscription.</p>
+     *
+     * <p>Bounded subscriptions handle their events in the order of publication using at most one
+     * task on the subscriber executor at a time. Once their queue is full, the selected {@link
+     * OverflowPolicy} is applied. This setting has no effect on synchronous subscriptions.</p>
+     *
+     * <p>By default, asynchronous subscriptions are unbounded and pass each event to the
+     * subscriber executor individually.</p>
+     *
+     * @param queueCapacity a capacity or zero to select an unbounded subscription.
+     * @return a reference to this builder.
+     * @throws IllegalArgumentException when the capacity is negative.
+     * @see BoundedAsyncSubscription
+     * @see Subscribe#queueCapacity()
+     */
+    @NonNull
+    public SubscriptionBuilder withQueueCapacity(int queueCapacity) {
+      if (queueCapacity < 0) {
+        throw new IllegalArgumentException(
+            "Illegal queue capacity: Expected a positive amount but got " + queueCapacity);
+      }
+
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * <p>Restricts the subscription to {@link KeyedEvent keyed events} which are addressed to the
+     * indicated key.</p>
+     *
+     * <p>Keyed subscriptions are indexed by their key and are thus not consulted for events which
+     * carry a different key. This permits the registration of large amounts of subscriptions (such
+     * as one subscription per entity) without affecting the cost of dispatching an event.</p>
+     *
+     * <p>By default, subscriptions are unkeyed and are notified about all matching events.</p>
+     *
+     * @param key a key or null to select an unkeyed subscription.
+     * @return a reference to this builder.
+     * @see KeyedSubscription
+     */
+    @NonNull
+    public SubscriptionBuilder withKey(@Nullable Object key) {
+      this.key = key;
+      return this;
+    }
+
+    /**
+     * <p>Selects a human readable name which identifies the subscription within the metrics of an
+     * instrumented bus.</p>
+     *
+     * <p>By default, subscriptions for methods are named after their declaring class and method
+     * name while all other subscriptions are named after their string representation.</p>
+     *
+     * @param name a name or null to select the default name.
+     * @return a reference to this builder.
+     * @see Builder#withInstrumentation(boolean)
+     */
+    @NonNull
+    public SubscriptionBuilder withName(@Nullable String name) {
+      this.name = name;
+      return this;
+    }
+
     /**
      * Selects a filter which decides whether or not to the subscription can and will handle an
      * event of a given type.
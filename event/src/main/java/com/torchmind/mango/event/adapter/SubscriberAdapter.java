@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.adapter;
+
+import com.torchmind.mango.event.EventBus;
+import com.torchmind.mango.event.annotation.Subscribe;
+import com.torchmind.mango.event.subscription.SubscriptionHandle;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Collection;
+
+/**
+ * <p>Registers the annotated handlers of a specific subscriber type without the use of
+ * reflection.</p>
+ *
+ * <p>Adapters are generated at compile time by the Mango annotation processor for each concrete
+ * type which declares accessible {@link Subscribe} methods. Generated adapters are named after
+ * their subscriber type with an additional {@link #CLASS_NAME_SUFFIX} and are listed within {@link
+ * #INDEX_RESOURCE} in order to permit {@link EventBus#register(Object)} to skip reflective method
+ * discovery.</p>
+ *
+ * @param <T> a subscriber type.
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface SubscriberAdapter<T> {
+
+  /**
+   * Defines the suffix which is appended to the binary name of a subscriber type in order to
+   * derive the name of its adapter.
+   */
+  String CLASS_NAME_SUFFIX = "$$SubscriberAdapter";
+
+  /**
+   * Defines the resource which lists the binary names of all subscriber types for which adapters
+   * have been generated (one per line).
+   */
+  String INDEX_RESOURCE = "META-INF/mango/subscribers.index";
+
+  /**
+   * Retrieves the exact subscriber type which is handled by this adapter.
+   *
+   * @return a type.
+   */
+  @NonNull
+  Class<T> getSubscriberType();
+
+  /**
+   * Registers all annotated handlers of a subscriber with an event bus.
+   *
+   * @param eventBus an event bus.
+   * @param subscriber a subscriber.
+   * @param handles a collection to which the handles of all registrations are added.
+   */
+  void register(
+      @NonNull EventBus eventBus,
+      @NonNull T subscriber,
+      @NonNull Collection<SubscriptionHandle> handles);
+}
@@ -17,7 +17,9 @@
 package com.torchmind.mango.event.annotation;
 
 import com.torchmind.mango.event.EventBus;
+import com.torchmind.mango.event.subscription.OverflowPolicy;
 import com.torchmind.mango.event.subscription.Subscription;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
 import com.torchmind.mango.event.utility.CancelableEvent;
 import com.torchmind.reflect.annotation.AliasFor;
 import java.lang.annotation.Documented;
@@ -93,6 +95,66 @@ public @interface Subscribe {
    */
   boolean acceptHeirs() default true;
 
+  /**
+   * <p>Defines whether this subscription handles events asynchronously.</p>
+   *
+   * <p>When enabled, the filter of this subscription is still evaluated within the publishing
+   * thread while the annotated method itself is invoked on the subscriber executor of the event
+   * bus. By default, this executor runs each invocation within its own virtual thread when
+   * supported by the runtime. This is typically desirable for handlers which perform blocking
+   * operations.</p>
+   *
+   * <p>Asynchronous handlers cannot influence the cancellation state observed by other
+   * subscriptions or the publisher.</p>
+   *
+   * @return true if the handler is invoked asynchronously, false otherwise.
+   */
+  boolean async() default false;
+
+  /**
+   * <p>Defines the maximum amount of events which may be pending within this subscription when
+   * it handles events asynchronously.</p>
+   *
+   * <p>Bounded subscriptions handle their events in the order of publication and apply their
+   * {@link #overflowPolicy()} once their queue is full. This property has no effect unless {@link
+   * #async()} is enabled.</p>
+   *
+   * <p>By default, asynchronous subscriptions are unbounded.</p>
+   *
+   * @return a capacity or zero if unbounded.
+   * @see EventBus.SubscriptionBuilder#withQueueCapacity(int)
+   */
+  int queueCapacity() default 0;
+
+  /**
+   * <p>Defines the strategy which is applied once the queue of this subscription has reached its
+   * {@link #queueCapacity() capacity}.</p>
+   *
+   * <p>When {@link OverflowPolicy#CALLBACK} is selected, overflowing events are passed to the
+   * overflow handler of the event bus (see {@link EventBus.Builder#withOverflowHandler(
+   * java.util.function.Consumer)}).</p>
+   *
+   * @return a policy.
+   * @see EventBus.SubscriptionBuilder#withOverflowPolicy(OverflowPolicy)
+   */
+  OverflowPolicy overflowPolicy() default OverflowPolicy.BLOCK;
+
+  /**
+   * <p>Defines a condition which is evaluated against the contents of an event before it is passed
+   * to the annotated method.</p>
+   *
+   * <p>Conditions compare event properties with literals (for instance, {@code "level >= 5 &&
+   * state in (RUNNING, PAUSED)"}) and are compiled once upon registration. Properties are resolved
+   * against the accepted event type and thus require the subscription to accept exactly one event
+   * type.</p>
+   *
+   * <p>By default, no condition is evaluated.</p>
+   *
+   * @return a condition or an empty string.
+   * @see EventFilter.Builder#withCondition(String)
+   */
+  String condition() default "";
+
   /**
    * Provides a default for class reference properties within this annotation.
    */
@@ -0,0 +1,510 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.instrumentation;
+
+import com.torchmind.mango.event.internal.WeakIdentityMap;
+import com.torchmind.mango.event.subscription.BoundedAsyncSubscription;
+import com.torchmind.mango.event.subscription.Subscription;
+import com.torchmind.mango.event.subscription.SubscriptionQueue;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>Records invocation counts, filter rejections and latencies of all subscriptions and event
+ * types within an event bus.</p>
+ *
+ * <p>Instrumentation is entirely optional and only performed when enabled within the respective
+ * bus configuration. Buses without instrumentation do not incur any measuring overhead.</p>
+ *
+ * <p>Since instrumentation beans are strongly referenced by the MBean server, subscriptions are
+ * only referenced weakly and thus never keep their listeners (or bus) reachable.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class Instrumentation implements InstrumentationMXBean {
+
+  /**
+   * Defines the JMX domain in which instrumentation beans are registered.
+   */
+  public static final String DOMAIN = "com.torchmind.mango.event";
+
+  private static final AtomicInteger ID_COUNTER = new AtomicInteger();
+
+  private final WeakIdentityMap<Subscription, Registration> subscriptions =
+      new WeakIdentityMap<>();
+  private final SubscriptionQueue.Invoker invoker = this::invoke;
+  private final Set<InvocationMetrics> eventTypes = ConcurrentHashMap.newKeySet();
+  private final ClassValue<InvocationMetrics> typeMetrics = new ClassValue<InvocationMetrics>() {
+    @Override
+    protected InvocationMetrics computeValue(Class<?> type) {
+      InvocationMetrics metrics = new InvocationMetrics(type.getName());
+      Instrumentation.this.eventTypes.add(metrics);
+      return metrics;
+    }
+  };
+  private final ObjectName objectName;
+
+  public Instrumentation() {
+    try {
+      this.objectName = new ObjectName(
+          DOMAIN + ":type=EventBus,id=" + ID_COUNTER.incrementAndGet());
+    } catch (JMException ex) {
+      throw new IllegalStateException("Cannot construct instrumentation bean name", ex);
+    }
+  }
+
+  /**
+   * <p>Passes an event to all matching subscriptions within a queue while recording their
+   * respective metrics.</p>
+   *
+   * <p>Subscriptions are selected via {@link SubscriptionQueue#dispatch(Object,
+   * SubscriptionQueue.Invoker)} and thus make use of the key index of the queue.</p>
+   *
+   * @param queue a queue.
+   * @param event an event.
+   */
+  public void dispatch(@NonNull SubscriptionQueue queue, @NonNull Object event) {
+    InvocationMetrics typeMetrics = this.typeMetrics.get(event.getClass());
+    long dispatchStart = System.nanoTime();
+
+    queue.dispatch(event, this.invoker);
+
+    typeMetrics.recordInvocation(System.nanoTime() - dispatchStart);
+  }
+
+  /**
+   * Passes an event to a single subscription (if accepted) while recording its metrics.
+   *
+   * @param subscription a subscription.
+   * @param event an event.
+   */
+  private void invoke(@NonNull Subscription subscription, @NonNull Object event) {
+    InvocationMetrics metrics = this.getMetrics(subscription);
+
+    if (!subscription.accepts(event)) {
+      metrics.recordRejection();
+      this.typeMetrics.get(event.getClass()).recordRejection();
+      return;
+    }
+
+    long start = System.nanoTime();
+    subscription.handle(event);
+    metrics.recordInvocation(System.nanoTime() - start);
+  }
+
+  /**
+   * Retrieves the metrics of a given event type.
+   *
+   * @param eventType an event type.
+   * @return a set of metrics.
+   */
+  @NonNull
+  public InvocationMetrics getMetrics(@NonNull Class<?> eventType) {
+    return this.typeMetrics.get(eventType);
+  }
+
+  /**
+   * <p>Retrieves the metrics of a given subscription.</p>
+   *
+   * <p>When no metrics have been recorded for the subscription yet, an empty set of metrics will
+   * be created and named after the name assigned via {@link #register(Subscription, String)} or,
+   * if no name has been assigned, the subscription's string representation.</p>
+   *
+   * @param subscription a subscription.
+   * @return a set of metrics.
+   */
+  @NonNull
+  public InvocationMetrics getMetrics(@NonNull Subscription subscription) {
+    Registration registration = this.subscriptions.get(subscription);
+
+    if (registration == null) {
+      registration = this.getRegistration(subscription);
+    }
+
+    return registration.getMetrics();
+  }
+
+  /**
+   * Retrieves the name under which this instrumentation is registered with the platform MBean
+   * server.
+   *
+   * @return a name.
+   */
+  @NonNull
+  public ObjectName getObjectName() {
+    return this.objectName;
+  }
+
+  /**
+   * <p>Assigns a human readable name to a subscription.</p>
+   *
+   * <p>The name is retained while the subscription is temporarily unregistered and will thus be
+   * re-used when the subscription is restored.</p>
+   *
+   * @param subscription a subscription.
+   * @param name a name.
+   */
+  public void register(@NonNull Subscription subscription, @NonNull String name) {
+    this.subscriptions.computeIfAbsent(subscription, (s) -> new Registration(name)).getMetrics();
+  }
+
+  /**
+   * Retrieves the registration of a subscription or creates a registration which is named after
+   * the subscription's string representation.
+   *
+   * @param subscription a subscription.
+   * @return a registration.
+   */
+  @NonNull
+  private Registration getRegistration(@NonNull Subscription subscription) {
+    return this.subscriptions.computeIfAbsent(subscription, (s) -> new Registration(s.toString()));
+  }
+
+  /**
+   * <p>Exposes the queue metrics of a bounded asynchronous subscription.</p>
+   *
+   * <p>The queue metrics are reported under the name of the registered subscription which may
+   * wrap the bounded subscription (when it is keyed, for instance).</p>
+   *
+   * @param subscription a registered subscription.
+   * @param queue the bounded subscription which is wrapped by the registered subscription.
+   */
+  public void registerQueue(@NonNull Subscription subscription,
+      @NonNull BoundedAsyncSubscription queue) {
+    // the queue is either the subscription itself or wrapped by it and is thus referenced weakly
+    this.getRegistration(subscription).queue = new WeakReference<>(queue);
+  }
+
+  /**
+   * <p>Resumes reporting the queue metrics of a previously unregistered subscription.</p>
+   *
+   * <p>This method has no effect for subscriptions which are not backed by a bounded
+   * queue.</p>
+   *
+   * @param subscription a registered subscription.
+   */
+  public void restore(@NonNull Subscription subscription) {
+    Registration registration = this.subscriptions.get(subscription);
+
+    if (registration != null) {
+      registration.active = true;
+    }
+  }
+
+  /**
+   * <p>Discards the metrics of a subscription which is no longer registered.</p>
+   *
+   * <p>The name and queue of the subscription are retained until the subscription itself is
+   * garbage collected in order to permit its restoration via {@link #restore(Subscription)}.</p>
+   *
+   * @param subscription a subscription.
+   */
+  public void unregister(@NonNull Subscription subscription) {
+    Registration registration = this.subscriptions.get(subscription);
+
+    if (registration != null) {
+      registration.active = false;
+      registration.metrics = null;
+    }
+  }
+
+  /**
+   * <p>Registers this instrumentation with the platform MBean server.</p>
+   *
+   * <p>Registered instrumentation beans are strongly referenced by the MBean server and thus need
+   * to be removed via {@link #unregisterMBean()} when their respective bus is discarded.</p>
+   *
+   * @throws IllegalStateException when the registration fails.
+   */
+  public void registerMBean() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.objectName);
+    } catch (JMException ex) {
+      throw new IllegalStateException("Cannot register instrumentation bean " + this.objectName,
+          ex);
+    }
+  }
+
+  /**
+   * Removes this instrumentation from the platform MBean server (if registered).
+   */
+  public void unregisterMBean() {
+    unregisterMBean(this.objectName);
+  }
+
+  /**
+   * <p>Removes the instrumentation with the given name from the platform MBean server (if
+   * registered).</p>
+   *
+   * <p>This method permits the removal of beans without retaining a reference to their
+   * instrumentation.</p>
+   *
+   * @param objectName the name of an instrumentation bean.
+   * @see #getObjectName()
+   */
+  public static void unregisterMBean(@NonNull ObjectName objectName) {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    try {
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException ex) {
+      throw new IllegalStateException("Cannot unregister instrumentation bean " + objectName, ex);
+    }
+  }
+
+  /**
+   * Retrieves the metrics of all currently registered subscriptions.
+   *
+   * @return a list of metrics.
+   */
+  @NonNull
+  private List<InvocationMetrics> getSubscriptionMetrics() {
+    List<InvocationMetrics> metrics = new ArrayList<>();
+
+    this.subscriptions.forEach((subscription, registration) -> {
+      InvocationMetrics current = registration.metrics;
+
+      if (registration.active && current != null) {
+        metrics.add(current);
+      }
+    });
+
+    return metrics;
+  }
+
+  /**
+   * Combines the metrics of all entries which share a common name.
+   *
+   * @param metrics a collection of metrics.
+   * @param extractor a value extractor.
+   * @param merger a value merger.
+   * @param <V> a value type.
+   * @return a map of names and values.
+   */
+  @NonNull
+  private static <V> Map<String, V> collect(
+      @NonNull Collection<InvocationMetrics> metrics,
+      @NonNull Function<InvocationMetrics, V> extractor,
+      @NonNull BinaryOperator<V> merger) {
+    Map<String, V> values = new TreeMap<>();
+    metrics.forEach((m) -> values.merge(m.getName(), extractor.apply(m), merger));
+    return Collections.unmodifiableMap(values);
+  }
+
+  /**
+   * Combines the latency histograms of all entries which share a common name.
+   *
+   * @param metrics a collection of metrics.
+   * @param extractor a value extractor.
+   * @param <V> a value type.
+   * @return a map of names and values.
+   */
+  @NonNull
+  private static <V> Map<String, V> collectLatency(
+      @NonNull Collection<InvocationMetrics> metrics,
+      @NonNull Function<LatencyHistogram.Snapshot, V> extractor) {
+    Map<String, LatencyHistogram.Snapshot> snapshots = collect(metrics,
+        (m) -> m.getLatency().getSnapshot(), LatencyHistogram.Snapshot::merge);
+    Map<String, V> values = new TreeMap<>();
+    snapshots.forEach((name, snapshot) -> values.put(name, extractor.apply(snapshot)));
+    return Collections.unmodifiableMap(values);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getSubscriptionInvocationCounts() {
+    return collect(this.getSubscriptionMetrics(), InvocationMetrics::getInvocationCount, Long::sum);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getSubscriptionRejectionCounts() {
+    return collect(this.getSubscriptionMetrics(), InvocationMetrics::getRejectionCount, Long::sum);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Double> getSubscriptionMeanLatencies() {
+    return collectLatency(this.getSubscriptionMetrics(), LatencyHistogram.Snapshot::getMean);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getSubscriptionP99Latencies() {
+    return collectLatency(this.getSubscriptionMetrics(), (s) -> s.getPercentile(99));
+  }
+
+  /**
+   * Combines the queue metrics of all bounded subscriptions which share a common name.
+   *
+   * @param extractor a value extractor.
+   * @param merger a value merger.
+   * @param <V> a value type.
+   * @return a map of names and values.
+   */
+  @NonNull
+  private <V> Map<String, V> collectQueues(
+      @NonNull Function<BoundedAsyncSubscription, V> extractor,
+      @NonNull BinaryOperator<V> merger) {
+    Map<String, V> values = new TreeMap<>();
+
+    this.subscriptions.forEach((subscription, registration) -> {
+      WeakReference<BoundedAsyncSubscription> reference = registration.queue;
+      BoundedAsyncSubscription queue = reference != null ? reference.get() : null;
+
+      if (registration.active && queue != null) {
+        values.merge(registration.name, extractor.apply(queue), merger);
+      }
+    });
+
+    return Collections.unmodifiableMap(values);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Integer> getSubscriptionQueueDepths() {
+    return this.collectQueues(BoundedAsyncSubscription::getQueueDepth, Integer::sum);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getSubscriptionDropCounts() {
+    return this.collectQueues(BoundedAsyncSubscription::getDropCount, Long::sum);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getSubscriptionWaitTimes() {
+    return this.collectQueues(BoundedAsyncSubscription::getWaitTime, Long::sum);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getEventTypeDispatchCounts() {
+    return collect(this.eventTypes, InvocationMetrics::getInvocationCount, Long::sum);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getEventTypeRejectionCounts() {
+    return collect(this.eventTypes, InvocationMetrics::getRejectionCount, Long::sum);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Double> getEventTypeMeanLatencies() {
+    return collectLatency(this.eventTypes, LatencyHistogram.Snapshot::getMean);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getEventTypeP99Latencies() {
+    return collectLatency(this.eventTypes, (s) -> s.getPercentile(99));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void reset() {
+    this.getSubscriptionMetrics().forEach(InvocationMetrics::reset);
+    this.eventTypes.forEach(InvocationMetrics::reset);
+  }
+
+  /**
+   * <p>Stores the name and metrics of a single subscription.</p>
+   *
+   * <p>Registrations are retained while their subscription is temporarily unregistered in order
+   * to report the subscription under its assigned name once it is restored.</p>
+   */
+  private static final class Registration {
+
+    private static final AtomicReferenceFieldUpdater<Registration, InvocationMetrics> METRICS =
+        AtomicReferenceFieldUpdater.newUpdater(Registration.class, InvocationMetrics.class,
+            "metrics");
+
+    private final String name;
+    private volatile InvocationMetrics metrics;
+    private volatile WeakReference<BoundedAsyncSubscription> queue;
+    private volatile boolean active = true;
+
+    private Registration(@NonNull String name) {
+      this.name = name;
+    }
+
+    /**
+     * Retrieves the metrics of this subscription (creating an empty set of metrics if none are
+     * present).
+     *
+     * @return a set of metrics.
+     */
+    @NonNull
+    private InvocationMetrics getMetrics() {
+      InvocationMetrics metrics = this.metrics;
+
+      if (metrics == null) {
+        metrics = new InvocationMetrics(this.name);
+
+        if (!METRICS.compareAndSet(this, null, metrics)) {
+          metrics = this.metrics;
+        }
+      }
+
+      return metrics;
+    }
+  }
+}
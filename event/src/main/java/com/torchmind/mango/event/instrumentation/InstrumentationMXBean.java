@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.instrumentation;
+
+import java.util.Map;
+
+/**
+ * <p>Exposes the metrics of an instrumented event bus via JMX.</p>
+ *
+ * <p>Subscription metrics are keyed by the name of their respective subscription (e.g. the
+ * declaring class and name of an annotated method) while event type metrics are keyed by the name
+ * of their respective event class. Subscriptions which share a common name are combined. All
+ * latencies are given in nanoseconds.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface InstrumentationMXBean {
+
+  /**
+   * Retrieves the amount of successful invocations per subscription.
+   *
+   * @return a map of subscription names and invocation counts.
+   */
+  Map<String, Long> getSubscriptionInvocationCounts();
+
+  /**
+   * Retrieves the amount of filter rejections per subscription.
+   *
+   * @return a map of subscription names and rejection counts.
+   */
+  Map<String, Long> getSubscriptionRejectionCounts();
+
+  /**
+   * Retrieves the mean handler latency per subscription.
+   *
+   * @return a map of subscription names and latencies.
+   */
+  Map<String, Double> getSubscriptionMeanLatencies();
+
+  /**
+   * Retrieves the 99th percentile of the handler latency per subscription.
+   *
+   * @return a map of subscription names and latencies.
+   */
+  Map<String, Long> getSubscriptionP99Latencies();
+
+  /**
+   * <p>Retrieves the amount of pending events per bounded asynchronous subscription.</p>
+   *
+   * <p>Queue metrics are maintained by the subscriptions themselves and are thus not affected by
+   * {@link #reset()}.</p>
+   *
+   * @return a map of subscription names and queue depths.
+   */
+  Map<String, Integer> getSubscriptionQueueDepths();
+
+  /**
+   * Retrieves the amount of events which have been discarded or passed to an overflow handler per
+   * bounded asynchronous subscription.
+   *
+   * @return a map of subscription names and drop counts.
+   */
+  Map<String, Long> getSubscriptionDropCounts();
+
+  /**
+   * Retrieves the total amount of time publishers spent waiting for queue capacity per bounded
+   * asynchronous subscription.
+   *
+   * @return a map of subscription names and wait times.
+   */
+  Map<String, Long> getSubscriptionWaitTimes();
+
+  /**
+   * Retrieves the amount of dispatches per event type.
+   *
+   * @return a map of event type names and dispatch counts.
+   */
+  Map<String, Long> getEventTypeDispatchCounts();
+
+  /**
+   * Retrieves the amount of filter rejections per event type.
+   *
+   * @return a map of event type names and rejection counts.
+   */
+  Map<String, Long> getEventTypeRejectionCounts();
+
+  /**
+   * Retrieves the mean dispatch latency (e.g. the time spent within all subscriptions) per event
+   * type.
+   *
+   * @return a map of event type names and latencies.
+   */
+  Map<String, Double> getEventTypeMeanLatencies();
+
+  /**
+   * Retrieves the 99th percentile of the dispatch latency per event type.
+   *
+   * @return a map of event type names and latencies.
+   */
+  Map<String, Long> getEventTypeP99Latencies();
+
+  /**
+   * Resets all recorded metrics.
+   */
+  void reset();
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.instrumentation;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Records the invocations of a single subscription or the dispatches of a single event
+ * type.</p>
+ *
+ * <p>All counters are striped and may thus be updated concurrently without contention.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class InvocationMetrics {
+
+  private final String name;
+  private final LongAdder invocationCount = new LongAdder();
+  private final LongAdder rejectionCount = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  InvocationMetrics(@NonNull String name) {
+    this.name = name;
+  }
+
+  /**
+   * Records a successful invocation.
+   *
+   * @param nanos the invocation latency in nanoseconds.
+   */
+  void recordInvocation(long nanos) {
+    this.invocationCount.increment();
+    this.latency.record(nanos);
+  }
+
+  /**
+   * Records a rejection (e.g. an event which did not pass the subscription filter).
+   */
+  void recordRejection() {
+    this.rejectionCount.increment();
+  }
+
+  /**
+   * Resets all recorded values.
+   */
+  void reset() {
+    this.invocationCount.reset();
+    this.rejectionCount.reset();
+    this.latency.reset();
+  }
+
+  /**
+   * Retrieves the human readable name of the subscription or event type which is described by
+   * these metrics.
+   *
+   * @return a name.
+   */
+  @NonNull
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Retrieves the amount of successful invocations.
+   *
+   * @return an amount of invocations.
+   */
+  public long getInvocationCount() {
+    return this.invocationCount.sum();
+  }
+
+  /**
+   * Retrieves the amount of events which were rejected by the filter of the subscription.
+   *
+   * @return an amount of rejections.
+   */
+  public long getRejectionCount() {
+    return this.rejectionCount.sum();
+  }
+
+  /**
+   * Retrieves the latencies of all successful invocations.
+   *
+   * @return a histogram.
+   */
+  @NonNull
+  public LatencyHistogram getLatency() {
+    return this.latency;
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.instrumentation;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Records latencies within a set of exponentially sized buckets.</p>
+ *
+ * <p>Each bucket covers a power of two range of nanoseconds. As such, the reported percentiles are
+ * accurate within a factor of two which is sufficient to identify expensive handlers while
+ * permitting recordings to be performed without allocations or contention.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class LatencyHistogram {
+
+  /**
+   * Defines the amount of buckets within a histogram.
+   */
+  static final int BUCKET_COUNT = 64;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+  private final LongAdder totalTime = new LongAdder();
+
+  LatencyHistogram() {
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      this.buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a single latency.
+   *
+   * @param nanos a latency in nanoseconds.
+   */
+  void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+
+    this.buckets[BUCKET_COUNT - 1 - Long.numberOfLeadingZeros(nanos | 1)].increment();
+    this.totalTime.add(nanos);
+  }
+
+  /**
+   * Resets all recorded latencies.
+   */
+  void reset() {
+    for (LongAdder bucket : this.buckets) {
+      bucket.reset();
+    }
+
+    this.totalTime.reset();
+  }
+
+  /**
+   * Creates a point-in-time copy of this histogram.
+   *
+   * @return a snapshot.
+   */
+  @NonNull
+  public Snapshot getSnapshot() {
+    long[] buckets = new long[BUCKET_COUNT];
+
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      buckets[i] = this.buckets[i].sum();
+    }
+
+    return new Snapshot(buckets, this.totalTime.sum());
+  }
+
+  /**
+   * Represents an immutable copy of a histogram.
+   */
+  public static final class Snapshot {
+
+    private final long[] buckets;
+    private final long totalTime;
+    private final long count;
+
+    private Snapshot(@NonNull long[] buckets, long totalTime) {
+      this.buckets = buckets;
+      this.totalTime = totalTime;
+
+      long count = 0;
+      for (long bucket : buckets) {
+        count += bucket;
+      }
+      this.count = count;
+    }
+
+    /**
+     * Retrieves the amount of recorded latencies.
+     *
+     * @return an amount of recordings.
+     */
+    public long getCount() {
+      return this.count;
+    }
+
+    /**
+     * Retrieves the mean latency.
+     *
+     * @return a latency in nanoseconds or zero when no latencies have been recorded.
+     */
+    public double getMean() {
+      if (this.count == 0) {
+        return 0;
+      }
+
+      return (double) this.totalTime / this.count;
+    }
+
+    /**
+     * Retrieves the upper bound of the bucket which contains the indicated percentile.
+     *
+     * @param percentile a percentile between 0 and 100.
+     * @return a latency in nanoseconds or zero when no latencies have been recorded.
+     */
+    public long getPercentile(double percentile) {
+      if (this.count == 0) {
+        return 0;
+      }
+
+      long threshold = (long) Math.ceil(this.count * Math.min(100, Math.max(0, percentile)) / 100);
+      long total = 0;
+
+      for (int i = 0; i < BUCKET_COUNT; ++i) {
+        total += this.buckets[i];
+
+        if (total >= threshold && this.buckets[i] != 0) {
+          return i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        }
+      }
+
+      return Long.MAX_VALUE;
+    }
+
+    /**
+     * Retrieves the total time which has been recorded.
+     *
+     * @return a duration in nanoseconds.
+     */
+    public long getTotalTime() {
+      return this.totalTime;
+    }
+
+    /**
+     * Combines the recordings of this snapshot with those of another snapshot.
+     *
+     * @param snapshot a snapshot.
+     * @return a combined snapshot.
+     */
+    @NonNull
+    public Snapshot merge(@NonNull Snapshot snapshot) {
+      long[] buckets = new long[BUCKET_COUNT];
+
+      for (int i = 0; i < BUCKET_COUNT; ++i) {
+        buckets[i] = this.buckets[i] + snapshot.buckets[i];
+      }
+
+      return new Snapshot(buckets, this.totalTime + snapshot.totalTime);
+    }
+  }
+}
@@ -0,0 +1,624 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>Compiles declarative event conditions into method handles.</p>
+ *
+ * <p>Conditions consist of property comparisons which may be combined using {@code &&}, {@code ||},
+ * {@code !} and parentheses:</p>
+ *
+ * <ul>
+ * <li>{@code path} evaluates a boolean property</li>
+ * <li>{@code path == literal} and {@code path != literal} compare a property with a literal (such
+ * as {@code null}, {@code true}, a number, a quoted string or an enum constant name)</li>
+ * <li>{@code path < literal} (as well as {@code <=}, {@code >} and {@code >=}) compare a numeric or
+ * comparable property with a literal</li>
+ * <li>{@code path in (literal, ...)} checks whether a property is equal to any of the listed
+ * literals</li>
+ * </ul>
+ *
+ * <p>Paths consist of one or more property names separated by dots. Each property is resolved once
+ * against the static type of its predecessor (starting with the event type) and refers to a public
+ * getter ({@code getName()} or {@code isName()}), an accessor method ({@code name()}) or a public
+ * field. When an intermediate property evaluates to null, the path evaluates to null.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class ConditionCompiler {
+
+  private static final int EQUAL = 0;
+  private static final int NOT_EQUAL = 1;
+  private static final int LESS = 2;
+  private static final int LESS_OR_EQUAL = 3;
+  private static final int GREATER = 4;
+  private static final int GREATER_OR_EQUAL = 5;
+
+  private static final MethodType PATH_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType CONDITION_TYPE = MethodType
+      .methodType(boolean.class, Object.class);
+
+  private static final MethodHandle COMPARE;
+  private static final MethodHandle CONTAINS;
+  private static final MethodHandle IS_NULL;
+  private static final MethodHandle NOT;
+  private static final MethodHandle TRUE = MethodHandles
+      .dropArguments(MethodHandles.constant(boolean.class, true), 0, Object.class);
+  private static final MethodHandle FALSE = MethodHandles
+      .dropArguments(MethodHandles.constant(boolean.class, false), 0, Object.class);
+  private static final MethodHandle NULL = MethodHandles
+      .dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+
+  static {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    try {
+      COMPARE = lookup.findStatic(ConditionCompiler.class, "compare",
+          MethodType.methodType(boolean.class, Object.class, Object.class, int.class));
+      CONTAINS = lookup.findStatic(ConditionCompiler.class, "contains",
+          MethodType.methodType(boolean.class, Object.class, Object[].class));
+      IS_NULL = lookup.findStatic(Objects.class, "isNull",
+          MethodType.methodType(boolean.class, Object.class));
+      NOT = lookup.findStatic(ConditionCompiler.class, "not",
+          MethodType.methodType(boolean.class, boolean.class));
+    } catch (ReflectiveOperationException ex) {
+      throw new ExceptionInInitializerError(ex);
+    }
+  }
+
+  private final String expression;
+  private final Class<?> eventType;
+  private final List<Token> tokens;
+  private int position;
+
+  private ConditionCompiler(@NonNull String expression, @NonNull Class<?> eventType) {
+    this.expression = expression;
+    this.eventType = eventType;
+    this.tokens = tokenize(expression);
+  }
+
+  /**
+   * Compiles a condition for events of the indicated type.
+   *
+   * @param expression a condition expression.
+   * @param eventType the type against which properties are resolved.
+   * @return a method handle of type {@code (Object)boolean}.
+   * @throws IllegalArgumentException when the expression is malformed or refers to unknown
+   * properties.
+   */
+  @NonNull
+  public static MethodHandle compile(@NonNull String expression, @NonNull Class<?> eventType) {
+    ConditionCompiler compiler = new ConditionCompiler(expression, eventType);
+    MethodHandle condition = compiler.parseDisjunction();
+
+    if (compiler.position != compiler.tokens.size()) {
+      throw compiler.error("Unexpected token");
+    }
+
+    return condition.asType(CONDITION_TYPE);
+  }
+
+  /**
+   * Parses a sequence of conditions which are separated by {@code ||}.
+   */
+  @NonNull
+  private MethodHandle parseDisjunction() {
+    MethodHandle condition = this.parseConjunction();
+
+    while (this.accept("||")) {
+      condition = MethodHandles.guardWithTest(condition, TRUE, this.parseConjunction());
+    }
+
+    return condition;
+  }
+
+  /**
+   * Parses a sequence of conditions which are separated by {@code &&}.
+   */
+  @NonNull
+  private MethodHandle parseConjunction() {
+    MethodHandle condition = this.parseUnary();
+
+    while (this.accept("&&")) {
+      condition = MethodHandles.guardWithTest(condition, this.parseUnary(), FALSE);
+    }
+
+    return condition;
+  }
+
+  /**
+   * Parses a negated, parenthesized or simple condition.
+   */
+  @NonNull
+  private MethodHandle parseUnary() {
+    if (this.accept("!")) {
+      return MethodHandles.filterReturnValue(this.parseUnary(), NOT);
+    }
+
+    if (this.accept("(")) {
+      MethodHandle condition = this.parseDisjunction();
+      this.expect(")");
+      return condition;
+    }
+
+    return this.parseComparison();
+  }
+
+  /**
+   * Parses a property comparison.
+   */
+  @NonNull
+  private MethodHandle parseComparison() {
+    Class<?> type = this.eventType;
+    MethodHandle path = null;
+
+    do {
+      Token name = this.next();
+
+      if (name.kind != TokenKind.IDENTIFIER) {
+        throw this.error("Expected property name");
+      }
+
+      AccessibleObject property = findProperty(type, name.text);
+
+      if (property == null) {
+        throw this.error("Unknown property \"" + name.text + "\" in type " + type.getName());
+      }
+
+      MethodHandle accessor = this.unreflect(property);
+      type = wrap(property instanceof Method ? ((Method) property).getReturnType()
+          : ((Field) property).getType());
+
+      path = path == null ? accessor : MethodHandles.filterReturnValue(path,
+          MethodHandles.guardWithTest(IS_NULL, NULL, accessor));
+    } while (this.accept("."));
+
+    Token operator = this.peek();
+
+    if (operator != null && operator.kind == TokenKind.IDENTIFIER && "in".equals(operator.text)) {
+      this.position++;
+      this.expect("(");
+
+      List<Object> literals = new ArrayList<>();
+
+      do {
+        literals.add(this.parseLiteral(type));
+      } while (this.accept(","));
+
+      this.expect(")");
+      return MethodHandles.filterReturnValue(path,
+          MethodHandles.insertArguments(CONTAINS, 1, (Object) literals.toArray()));
+    }
+
+    int code = operator == null ? -1 : operatorCode(operator.text);
+
+    if (code == -1) {
+      if (type != Boolean.class) {
+        throw this.error("Expected comparison of non-boolean property");
+      }
+
+      return MethodHandles.filterReturnValue(path,
+          MethodHandles.insertArguments(COMPARE, 1, Boolean.TRUE, EQUAL));
+    }
+
+    this.position++;
+    Object literal = this.parseLiteral(type);
+
+    if (code != EQUAL && code != NOT_EQUAL && !(literal instanceof Number && (
+        Number.class.isAssignableFrom(type) || type == Object.class)) && !(
+        literal instanceof Comparable && type.isInstance(literal))) {
+      throw this.error("Relational comparison requires a numeric or comparable property");
+    }
+
+    return MethodHandles.filterReturnValue(path,
+        MethodHandles.insertArguments(COMPARE, 1, literal, code));
+  }
+
+  /**
+   * Parses a literal which is compared with a property of the indicated type.
+   */
+  @Nullable
+  private Object parseLiteral(@NonNull Class<?> type) {
+    Token token = this.next();
+
+    switch (token.kind) {
+      case NUMBER:
+        if (token.text.indexOf('.') != -1) {
+          return Double.valueOf(token.text);
+        }
+
+        return Long.valueOf(token.text);
+      case STRING:
+        return token.text;
+      case IDENTIFIER:
+        switch (token.text) {
+          case "null":
+            return null;
+          case "true":
+            return Boolean.TRUE;
+          case "false":
+            return Boolean.FALSE;
+          default:
+            if (!type.isEnum()) {
+              throw this.error("Unexpected identifier in comparison with " + type.getName());
+            }
+
+            for (Object constant : type.getEnumConstants()) {
+              if (((Enum<?>) constant).name().equals(token.text)) {
+                return constant;
+              }
+            }
+
+            throw this.error("Unknown constant \"" + token.text + "\" in " + type.getName());
+        }
+      default:
+        throw this.error("Expected literal");
+    }
+  }
+
+  /**
+   * Creates an accessor handle of type {@code (Object)Object} for a given property.
+   */
+  @NonNull
+  private MethodHandle unreflect(@NonNull AccessibleObject property) {
+    try {
+      property.setAccessible(true);
+    } catch (RuntimeException ignore) {
+      // public members of exported types remain accessible
+    }
+
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodHandle handle = property instanceof Method ? lookup.unreflect((Method) property)
+          : lookup.unreflectGetter((Field) property);
+      return handle.asType(PATH_TYPE);
+    } catch (IllegalAccessException ex) {
+      throw new IllegalArgumentException("Cannot access property " + property + " within "
+          + "condition: " + this.expression, ex);
+    }
+  }
+
+  /**
+   * Locates the getter, accessor or field which represents a named property of a type.
+   */
+  @Nullable
+  private static AccessibleObject findProperty(@NonNull Class<?> type, @NonNull String name) {
+    String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+    for (String methodName : new String[]{"get" + capitalized, "is" + capitalized, name}) {
+      try {
+        Method method = type.getMethod(methodName);
+
+        if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class) {
+          return method;
+        }
+      } catch (NoSuchMethodException ignore) {
+      }
+    }
+
+    try {
+      Field field = type.getField(name);
+
+      if (!Modifier.isStatic(field.getModifiers())) {
+        return field;
+      }
+    } catch (NoSuchFieldException ignore) {
+    }
+
+    return null;
+  }
+
+  /**
+   * Converts primitive types into their respective wrapper types.
+   */
+  @NonNull
+  private static Class<?> wrap(@NonNull Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  /**
+   * Retrieves the numeric code of a comparison operator.
+   */
+  private static int operatorCode(@NonNull String operator) {
+    switch (operator) {
+      case "==":
+        return EQUAL;
+      case "!=":
+        return NOT_EQUAL;
+      case "<":
+        return LESS;
+      case "<=":
+        return LESS_OR_EQUAL;
+      case ">":
+        return GREATER;
+      case ">=":
+        return GREATER_OR_EQUAL;
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Compares a property value with a literal.
+   *
+   * @param value a property value.
+   * @param literal a literal.
+   * @param operator an operator code.
+   * @return true if the comparison holds, false otherwise.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static boolean compare(@Nullable Object value, @Nullable Object literal, int operator) {
+    if (operator == EQUAL || operator == NOT_EQUAL) {
+      return isEqual(value, literal) == (operator == EQUAL);
+    }
+
+    if (value == null || literal == null) {
+      return false;
+    }
+
+    int result;
+
+    if (value instanceof Number && literal instanceof Number) {
+      result = compareNumbers((Number) value, (Number) literal);
+    } else if (value instanceof Comparable && value.getClass().isInstance(literal)) {
+      result = ((Comparable) value).compareTo(literal);
+    } else {
+      return false;
+    }
+
+    switch (operator) {
+      case LESS:
+        return result < 0;
+      case LESS_OR_EQUAL:
+        return result <= 0;
+      case GREATER:
+        return result > 0;
+      default:
+        return result >= 0;
+    }
+  }
+
+  /**
+   * Evaluates whether a property value is equal to any of the passed literals.
+   *
+   * @param value a property value.
+   * @param literals an array of literals.
+   * @return true if contained, false otherwise.
+   */
+  private static boolean contains(@Nullable Object value, @NonNull Object[] literals) {
+    for (Object literal : literals) {
+      if (isEqual(value, literal)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Evaluates whether a property value is equal to a literal (comparing numbers by value).
+   */
+  private static boolean isEqual(@Nullable Object value, @Nullable Object literal) {
+    if (value == literal) {
+      return true;
+    }
+
+    if (value == null || literal == null) {
+      return false;
+    }
+
+    if (value instanceof Number && literal instanceof Number) {
+      return compareNumbers((Number) value, (Number) literal) == 0;
+    }
+
+    return value.equals(literal);
+  }
+
+  /**
+   * Compares two numbers by value.
+   */
+  private static int compareNumbers(@NonNull Number a, @NonNull Number b) {
+    if (isIntegral(a) && isIntegral(b)) {
+      return Long.compare(a.longValue(), b.longValue());
+    }
+
+    return Double.compare(a.doubleValue(), b.doubleValue());
+  }
+
+  /**
+   * Evaluates whether a number is represented as an integral type.
+   */
+  private static boolean isIntegral(@NonNull Number number) {
+    return number instanceof Long || number instanceof Integer || number instanceof Short
+        || number instanceof Byte;
+  }
+
+  /**
+   * Negates a boolean value.
+   */
+  private static boolean not(boolean value) {
+    return !value;
+  }
+
+  /**
+   * Consumes the next token if it matches the indicated symbol.
+   */
+  private boolean accept(@NonNull String symbol) {
+    Token token = this.peek();
+
+    if (token != null && token.kind == TokenKind.SYMBOL && token.text.equals(symbol)) {
+      this.position++;
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Consumes the next token and verifies that it matches the indicated symbol.
+   */
+  private void expect(@NonNull String symbol) {
+    if (!this.accept(symbol)) {
+      throw this.error("Expected \"" + symbol + "\"");
+    }
+  }
+
+  /**
+   * Retrieves the next token without consuming it.
+   */
+  @Nullable
+  private Token peek() {
+    return this.position < this.tokens.size() ? this.tokens.get(this.position) : null;
+  }
+
+  /**
+   * Consumes the next token.
+   */
+  @NonNull
+  private Token next() {
+    Token token = this.peek();
+
+    if (token == null) {
+      throw this.error("Unexpected end of condition");
+    }
+
+    this.position++;
+    return token;
+  }
+
+  /**
+   * Creates an exception which describes a problem at the current position.
+   */
+  @NonNull
+  private IllegalArgumentException error(@NonNull String message) {
+    Token token = this.position < this.tokens.size() ? this.tokens.get(this.position)
+        : this.tokens.isEmpty() ? null : this.tokens.get(this.tokens.size() - 1);
+    int offset = token == null ? 0 : token.offset;
+
+    return new IllegalArgumentException(
+        "Illegal condition \"" + this.expression + "\" at offset " + offset + ": " + message);
+  }
+
+  /**
+   * Splits an expression into its tokens.
+   */
+  @NonNull
+  private static List<Token> tokenize(@NonNull String expression) {
+    List<Token> tokens = new ArrayList<>();
+    int i = 0;
+
+    while (i < expression.length()) {
+      char c = expression.charAt(i);
+
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (Character.isJavaIdentifierStart(c)) {
+        int start = i;
+
+        while (i < expression.length() && Character.isJavaIdentifierPart(expression.charAt(i))) {
+          i++;
+        }
+
+        tokens.add(new Token(TokenKind.IDENTIFIER, expression.substring(start, i), start));
+      } else if (Character.isDigit(c) || (c == '-' && i + 1 < expression.length()
+          && Character.isDigit(expression.charAt(i + 1)))) {
+        int start = i++;
+
+        while (i < expression.length() && (Character.isDigit(expression.charAt(i))
+            || expression.charAt(i) == '.')) {
+          i++;
+        }
+
+        tokens.add(new Token(TokenKind.NUMBER, expression.substring(start, i), start));
+      } else if (c == '\'' || c == '"') {
+        int start = i++;
+        StringBuilder text = new StringBuilder();
+
+        while (i < expression.length() && expression.charAt(i) != c) {
+          if (expression.charAt(i) == '\\' && i + 1 < expression.length()) {
+            i++;
+          }
+
+          text.append(expression.charAt(i++));
+        }
+
+        if (i == expression.length()) {
+          throw new IllegalArgumentException(
+              "Illegal condition \"" + expression + "\" at offset " + start
+                  + ": Unterminated string literal");
+        }
+
+        i++;
+        tokens.add(new Token(TokenKind.STRING, text.toString(), start));
+      } else {
+        String symbol = expression.startsWith("&&", i) || expression.startsWith("||", i)
+            || expression.startsWith("==", i) || expression.startsWith("!=", i)
+            || expression.startsWith("<=", i) || expression.startsWith(">=", i)
+            ? expression.substring(i, i + 2) : String.valueOf(c);
+
+        if (symbol.length() == 1 && "!<>().,".indexOf(c) == -1) {
+          throw new IllegalArgumentException(
+              "Illegal condition \"" + expression + "\" at offset " + i + ": Unexpected character");
+        }
+
+        tokens.add(new Token(TokenKind.SYMBOL, symbol, i));
+        i += symbol.length();
+      }
+    }
+
+    return tokens;
+  }
+
+  /**
+   * Defines the kinds of tokens within a condition.
+   */
+  private enum TokenKind {
+    IDENTIFIER,
+    NUMBER,
+    STRING,
+    SYMBOL
+  }
+
+  /**
+   * Represents a single token within a condition.
+   */
+  private static final class Token {
+
+    private final TokenKind kind;
+    private final String text;
+    private final int offset;
+
+    private Token(@NonNull TokenKind kind, @NonNull String text, int offset) {
+      this.kind = kind;
+      this.text = text;
+      this.offset = offset;
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.event.subscription.AbstractSubscription;
+import com.torchmind.mango.event.subscription.ConsumerSubscription;
+import com.torchmind.mango.event.subscription.RunnableSubscription;
+import com.torchmind.mango.event.subscription.Subscription;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Consumer;
+
+/**
+ * <p>Creates dispatchers which pass events to a fixed list of subscriptions.</p>
+ *
+ * <p>Each dispatcher is backed by a method handle tree which contains a dedicated handle for every
+ * subscription within its list. For {@link ConsumerSubscription consumer} and {@link
+ * RunnableSubscription runnable} subscriptions, these handles are bound to the filter and handler
+ * of the subscription directly rather than going through the shared (and thus typically
+ * megamorphic) call site within {@link Subscription#handle(Object)}. Since all bound values are
+ * constants of the tree, the JIT may inline handlers into the compiled tree.</p>
+ *
+ * <p>Dispatchers do not define any classes and will thus be collected once they are no longer
+ * referenced.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class DispatcherFactory {
+
+  /**
+   * <p>Defines the maximum amount of subscriptions which may be compiled into a single
+   * dispatcher.</p>
+   *
+   * <p>This limit keeps the handle tree of a dispatcher within the size which the JIT is willing
+   * to inline.</p>
+   */
+  public static final int MAXIMUM_SUBSCRIPTIONS = 256;
+
+  private static final MethodType DISPATCH_TYPE = MethodType
+      .methodType(void.class, Object.class);
+  private static final MethodType ACCEPTS_TYPE = MethodType
+      .methodType(boolean.class, Object.class);
+
+  private static final MethodHandle SKIP;
+  private static final MethodHandle SUBSCRIPTION_ACCEPTS;
+  private static final MethodHandle SUBSCRIPTION_HANDLE;
+  private static final MethodHandle FILTER_ACCEPTS;
+  private static final MethodHandle CONSUMER_ACCEPT;
+  private static final MethodHandle RUNNABLE_RUN;
+
+  static {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    try {
+      SKIP = lookup.findStatic(DispatcherFactory.class, "skip", DISPATCH_TYPE);
+      SUBSCRIPTION_ACCEPTS = lookup.findVirtual(Subscription.class, "accepts", ACCEPTS_TYPE);
+      SUBSCRIPTION_HANDLE = lookup.findVirtual(Subscription.class, "handle", DISPATCH_TYPE);
+      FILTER_ACCEPTS = lookup.findVirtual(EventFilter.class, "accepts", ACCEPTS_TYPE);
+      CONSUMER_ACCEPT = lookup.findVirtual(Consumer.class, "accept", DISPATCH_TYPE);
+      RUNNABLE_RUN = lookup.findVirtual(Runnable.class, "run",
+          MethodType.methodType(void.class));
+    } catch (NoSuchMethodException | IllegalAccessException ex) {
+      throw new ExceptionInInitializerError(ex);
+    }
+  }
+
+  private DispatcherFactory() {
+  }
+
+  /**
+   * <p>Creates a dispatcher which passes an event to all supplied subscriptions (in their order)
+   * which accept the event.</p>
+   *
+   * <p>The returned dispatcher is semantically equivalent to evaluating {@link
+   * Subscription#accepts(Object)} and, when accepted, invoking {@link Subscription#handle(Object)}
+   * for each subscription in order.</p>
+   *
+   * @param subscriptions an array of subscriptions.
+   * @return a dispatcher or, if the amount of subscriptions exceeds {@link
+   * #MAXIMUM_SUBSCRIPTIONS}, null.
+   */
+  @Nullable
+  public static Consumer<Object> createDispatcher(@NonNull Subscription[] subscriptions) {
+    if (subscriptions.length > MAXIMUM_SUBSCRIPTIONS) {
+      return null;
+    }
+
+    MethodHandle[] handles = new MethodHandle[subscriptions.length];
+
+    for (int i = 0; i < subscriptions.length; ++i) {
+      handles[i] = createHandle(subscriptions[i]);
+    }
+
+    return new Dispatcher(combine(handles, 0, handles.length));
+  }
+
+  /**
+   * Creates a handle of type {@code (Object)void} which passes an event to a single subscription
+   * if it accepts the event.
+   *
+   * @param subscription a subscription.
+   * @return a method handle.
+   */
+  @NonNull
+  private static MethodHandle createHandle(@NonNull Subscription subscription) {
+    Class<?> type = subscription.getClass();
+
+    if (type == ConsumerSubscription.class || type == RunnableSubscription.class) {
+      MethodHandle filter = FILTER_ACCEPTS
+          .bindTo(((AbstractSubscription) subscription).getEventFilter());
+      MethodHandle handler = type == ConsumerSubscription.class
+          ? CONSUMER_ACCEPT.bindTo(((ConsumerSubscription) subscription).getConsumer())
+          : MethodHandles.dropArguments(
+              RUNNABLE_RUN.bindTo(((RunnableSubscription) subscription).getRunnable()), 0,
+              Object.class);
+
+      return MethodHandles.guardWithTest(filter, handler, SKIP);
+    }
+
+    return MethodHandles.guardWithTest(SUBSCRIPTION_ACCEPTS.bindTo(subscription),
+        SUBSCRIPTION_HANDLE.bindTo(subscription), SKIP);
+  }
+
+  /**
+   * <p>Combines a range of handles into a single handle which invokes each of them in order.</p>
+   *
+   * <p>Handles are combined as a balanced tree in order to keep the depth of the resulting handle
+   * (and thus the stack depth of a dispatch) logarithmic in the amount of subscriptions.</p>
+   *
+   * @param handles an array of handles of type {@code (Object)void}.
+   * @param from the index of the first handle (inclusive).
+   * @param to the index of the last handle (exclusive).
+   * @return a method handle.
+   */
+  @NonNull
+  private static MethodHandle combine(@NonNull MethodHandle[] handles, int from, int to) {
+    switch (to - from) {
+      case 0:
+        return SKIP;
+      case 1:
+        return handles[from];
+      default:
+        int middle = (from + to) >>> 1;
+        return MethodHandles.foldArguments(combine(handles, middle, to),
+            combine(handles, from, middle));
+    }
+  }
+
+  /**
+   * Ignores an event which has been rejected by a subscription.
+   *
+   * @param event an event.
+   */
+  private static void skip(@NonNull Object event) {
+  }
+
+  /**
+   * Passes events to the handle tree of a list of subscriptions.
+   */
+  private static final class Dispatcher implements Consumer<Object> {
+
+    private final MethodHandle target;
+
+    private Dispatcher(@NonNull MethodHandle target) {
+      this.target = target;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void accept(Object event) {
+      try {
+        this.target.invokeExact(event);
+      } catch (RuntimeException | Error ex) {
+        throw ex;
+      } catch (Throwable ex) {
+        throw new IllegalStateException("Failed to dispatch event: " + event, ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>Coalesces bursts of selected event types so that only the most recent event per key is
+ * dispatched.</p>
+ *
+ * <p>The first event of a given key opens a window of a fixed length. Every event with the same
+ * key which is offered before the window closes supersedes its predecessor which is dropped
+ * without ever being dispatched. Once the window closes, the most recent event is passed to the
+ * sink of this coalescer. Since windows are not extended by subsequent events, continuously
+ * updated keys are still dispatched at least once per window.</p>
+ *
+ * <p>Whether an event type is coalesced is decided using the precomputed type closures of the
+ * {@link TypeIndex} and thus does not require any locking. Pending events are kept within a
+ * concurrent map of windows per rule. Windows which are closed early (via {@link #flush()}) are
+ * detached from their key and will thus be ignored when their scheduled closure is due.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class EventCoalescer {
+
+  private final TypeIndex.Mask types;
+  private final List<Stage> stages = new ArrayList<>();
+  private final ClassValue<Stage> resolvedStages = new ClassValue<Stage>() {
+    @Override
+    protected Stage computeValue(Class<?> type) {
+      return EventCoalescer.this.resolve(type);
+    }
+  };
+  private final TypeCounter coalescedEvents = new TypeCounter();
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+  private final Consumer<Object> sink;
+
+  /**
+   * Creates a new coalescer.
+   *
+   * @param rules a set of rules (in the order of their precedence).
+   * @param scheduler a scheduler on which windows are closed.
+   * @param executor an executor on which the events of closed windows are passed to the sink.
+   * @param sink a sink which dispatches coalesced events.
+   */
+  public EventCoalescer(@NonNull Collection<Rule> rules,
+      @NonNull ScheduledExecutorService scheduler, @NonNull Executor executor,
+      @NonNull Consumer<Object> sink) {
+    List<Class<?>> types = new ArrayList<>();
+
+    for (Rule rule : rules) {
+      types.add(rule.type);
+      this.stages.add(new Stage(rule));
+    }
+
+    this.types = TypeIndex.createMask(types);
+    this.scheduler = scheduler;
+    this.executor = executor;
+    this.sink = sink;
+  }
+
+  /**
+   * Retrieves the amount of events per event type which have been superseded by a more recent
+   * event before being dispatched.
+   *
+   * @return an unmodifiable point-in-time map of event types and their respective counts.
+   */
+  @NonNull
+  public Map<Class<?>, Long> getCoalescedCounts() {
+    return this.coalescedEvents.getCounts();
+  }
+
+  /**
+   * <p>Offers an event to this coalescer.</p>
+   *
+   * <p>Events of types which have not been selected for coalescing as well as events without a
+   * key are rejected and are expected to be dispatched immediately by the caller.</p>
+   *
+   * @param event an event.
+   * @return true if the event has been accepted (and will be dispatched or superseded at a later
+   * time), false otherwise.
+   */
+  public boolean offer(@NonNull Object event) {
+    Class<?> type = event.getClass();
+
+    if (!this.types.intersects(TypeIndex.getClosure(type))) {
+      return false;
+    }
+
+    Stage stage = this.resolvedStages.get(type);
+    Object key = stage.keyExtractor.apply(event);
+
+    if (key == null) {
+      return false;
+    }
+
+    for (; ; ) {
+      Window window = stage.pending.get(key);
+
+      if (window == null) {
+        Window created = new Window(event);
+        window = stage.pending.putIfAbsent(key, created);
+
+        if (window == null) {
+          created.future = this.scheduler.schedule(
+              () -> this.executor.execute(() -> this.close(stage, key, created)),
+              stage.window, TimeUnit.NANOSECONDS);
+          return true;
+        }
+      }
+
+      Object superseded = window.supersede(event);
+
+      if (superseded != null) {
+        this.coalescedEvents.increment(superseded.getClass());
+        return true;
+      }
+
+      // the window has been closed concurrently and is about to be removed
+      Thread.yield();
+    }
+  }
+
+  /**
+   * <p>Immediately passes all pending events to the sink within the calling thread.</p>
+   *
+   * <p>The scheduled closure of all flushed windows is cancelled (or ignored if it is already
+   * running) and thus the next event for a given key will open a new window of full length.</p>
+   */
+  public void flush() {
+    for (Stage stage : this.stages) {
+      stage.pending.forEach((key, window) -> {
+        ScheduledFuture<?> future = window.future;
+
+        if (future != null) {
+          future.cancel(false);
+        }
+
+        this.close(stage, key, window);
+      });
+    }
+  }
+
+  /**
+   * Closes a window and passes its most recent event to the sink (if it has not been closed
+   * already).
+   *
+   * @param stage a stage.
+   * @param key a key.
+   * @param window a window.
+   */
+  private void close(@NonNull Stage stage, @NonNull Object key, @NonNull Window window) {
+    Object event = window.close();
+
+    if (event == null) {
+      return;
+    }
+
+    stage.pending.remove(key, window);
+    this.sink.accept(event);
+  }
+
+  /**
+   * Resolves the stage which is responsible for a given event type.
+   *
+   * @param type an event type.
+   * @return a stage.
+   */
+  @NonNull
+  private Stage resolve(@NonNull Class<?> type) {
+    for (Stage stage : this.stages) {
+      if (stage.type.isAssignableFrom(type)) {
+        return stage;
+      }
+    }
+
+    throw new IllegalStateException("No coalescing rule for event type " + type.getName());
+  }
+
+  /**
+   * Represents the configuration of a single coalesced event type.
+   */
+  public static final class Rule {
+
+    private final Class<?> type;
+    private final Function<Object, ?> keyExtractor;
+    private final long window;
+
+    /**
+     * Creates a new rule.
+     *
+     * @param type an event type (including its heirs).
+     * @param keyExtractor a function which extracts the coalescing key of an event.
+     * @param window the amount of nanoseconds for which events are coalesced.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Rule(@NonNull Class<E> type, @NonNull Function<? super E, ?> keyExtractor,
+        long window) {
+      this.type = type;
+      this.keyExtractor = (Function<Object, ?>) keyExtractor;
+      this.window = window;
+    }
+  }
+
+  /**
+   * Represents the runtime state of a single rule.
+   */
+  private static final class Stage {
+
+    private final Class<?> type;
+    private final Function<Object, ?> keyExtractor;
+    private final long window;
+    private final ConcurrentMap<Object, Window> pending = new ConcurrentHashMap<>();
+
+    private Stage(@NonNull Rule rule) {
+      this.type = rule.type;
+      this.keyExtractor = rule.keyExtractor;
+      this.window = rule.window;
+    }
+  }
+
+  /**
+   * <p>Represents the coalescing window of a single key.</p>
+   *
+   * <p>Windows retain the most recent event until they are closed. Once closed, events can no
+   * longer be passed to the window and its offering threads are expected to wait for its removal
+   * in order to open a new window.</p>
+   */
+  private static final class Window {
+
+    private static final Object CLOSED = new Object();
+    private static final AtomicReferenceFieldUpdater<Window, Object> EVENT =
+        AtomicReferenceFieldUpdater.newUpdater(Window.class, Object.class, "event");
+
+    private volatile Object event;
+    private volatile ScheduledFuture<?> future;
+
+    private Window(@NonNull Object event) {
+      this.event = event;
+    }
+
+    /**
+     * Replaces the pending event of this window.
+     *
+     * @param event an event.
+     * @return the superseded event or null if this window has been closed.
+     */
+    private Object supersede(@NonNull Object event) {
+      for (; ; ) {
+        Object current = this.event;
+
+        if (current == CLOSED) {
+          return null;
+        }
+
+        if (EVENT.compareAndSet(this, current, event)) {
+          return current;
+        }
+      }
+    }
+
+    /**
+     * Closes this window.
+     *
+     * @return the most recent event or null if this window has already been closed.
+     */
+    private Object close() {
+      Object event = EVENT.getAndSet(this, CLOSED);
+      return event == CLOSED ? null : event;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides factory methods for the executors which are used by the event bus when no custom
+ * executor has been configured.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class ExecutorFactory {
+
+  private ExecutorFactory() {
+  }
+
+  /**
+   * <p>Retrieves the shared executor on which asynchronous subscriptions are executed by
+   * default.</p>
+   *
+   * <p>When the runtime supports virtual threads, every task is executed within its own virtual
+   * thread. Otherwise, tasks are executed on a shared pool of daemon threads which grows on
+   * demand.</p>
+   *
+   * @return an executor.
+   */
+  @NonNull
+  public static Executor getSubscriberExecutor() {
+    return SubscriberExecutorHolder.INSTANCE;
+  }
+
+  /**
+   * <p>Retrieves the shared scheduler on which the windows of coalesced events are closed by
+   * default.</p>
+   *
+   * <p>The scheduler consists of a single daemon thread which merely hands closed windows to the
+   * executor of their respective bus and thus never invokes any handlers itself.</p>
+   *
+   * @return a scheduler.
+   */
+  @NonNull
+  public static ScheduledExecutorService getCoalescingScheduler() {
+    return CoalescingSchedulerHolder.INSTANCE;
+  }
+
+  /**
+   * Creates the default coalescing scheduler.
+   *
+   * @return a scheduler.
+   */
+  @NonNull
+  private static ScheduledExecutorService createCoalescingScheduler() {
+    return Executors.newSingleThreadScheduledExecutor((runnable) -> {
+      Thread thread = new Thread(runnable, "mango-coalescer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Creates the default subscriber executor.
+   *
+   * @return an executor.
+   */
+  @NonNull
+  private static Executor createSubscriberExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (Executor) factory.invoke(null);
+    } catch (ReflectiveOperationException ignore) {
+      // virtual threads are not supported by this runtime
+    }
+
+    AtomicInteger counter = new AtomicInteger();
+    ThreadFactory threadFactory = (runnable) -> {
+      Thread thread = new Thread(runnable, "mango-subscriber-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+
+    return Executors.newCachedThreadPool(threadFactory);
+  }
+
+  /**
+   * Lazily initializes the default subscriber executor.
+   */
+  private static final class SubscriberExecutorHolder {
+
+    private static final Executor INSTANCE = createSubscriberExecutor();
+  }
+
+  /**
+   * Lazily initializes the default coalescing scheduler.
+   */
+  private static final class CoalescingSchedulerHolder {
+
+    private static final ScheduledExecutorService INSTANCE = createCoalescingScheduler();
+  }
+}
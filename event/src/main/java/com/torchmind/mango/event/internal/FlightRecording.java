@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.event.subscription.SubscriptionQueue;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Emits Java Flight Recorder events for the dispatch of events.</p>
+ *
+ * <p>This implementation is used on runtimes which do not provide the flight recorder API and
+ * thus does not record anything. On Java 11 and newer, it is replaced by an implementation within
+ * the versioned section of the library jar which emits events whenever the respective event types
+ * are enabled within an active recording.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class FlightRecording {
+
+  private FlightRecording() {
+  }
+
+  /**
+   * Begins recording the dispatch of an event within a single bus.
+   *
+   * @return a recording or null if the respective event type is disabled.
+   */
+  @Nullable
+  public static Object beginPost() {
+    return null;
+  }
+
+  /**
+   * Completes the recording of a dispatch.
+   *
+   * @param recording a recording (as returned by {@link #beginPost()}).
+   * @param eventType the type of the dispatched event.
+   * @param subscriptionCount the amount of subscriptions within the queue of the event type.
+   */
+  public static void commitPost(@Nullable Object recording, @NonNull Class<?> eventType,
+      int subscriptionCount) {
+  }
+
+  /**
+   * Begins recording the computation of a subscription queue.
+   *
+   * @return a recording or null if the respective event type is disabled.
+   */
+  @Nullable
+  public static Object beginCacheRebuild() {
+    return null;
+  }
+
+  /**
+   * Completes the recording of a subscription queue computation.
+   *
+   * @param recording a recording (as returned by {@link #beginCacheRebuild()}).
+   * @param eventType the type for which the queue has been computed.
+   * @param scannedCount the amount of subscriptions which have been evaluated.
+   * @param matchedCount the amount of subscriptions within the resulting queue.
+   */
+  public static void commitCacheRebuild(@Nullable Object recording, @NonNull Class<?> eventType,
+      int scannedCount, int matchedCount) {
+  }
+
+  /**
+   * Evaluates whether individual handler invocations are currently recorded.
+   *
+   * @return true if enabled, false otherwise.
+   * @see #dispatch(SubscriptionQueue, Object)
+   */
+  public static boolean isHandlerRecordingEnabled() {
+    return false;
+  }
+
+  /**
+   * Passes an event to all matching subscriptions within a queue while recording each handler
+   * invocation.
+   *
+   * @param queue a queue.
+   * @param event an event.
+   */
+  public static void dispatch(@NonNull SubscriptionQueue queue, @NonNull Object event) {
+    queue.dispatch(event);
+  }
+}
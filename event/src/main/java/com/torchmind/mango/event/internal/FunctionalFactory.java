@@ -26,15 +26,39 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
- * Provides utility methods for wrapping arbitrary methods in functionals.
+ * <p>Provides utility methods for wrapping arbitrary methods in functionals.</p>
+ *
+ * <p>Each wrapping is backed by a factory method handle which accepts the receiver of the method
+ * (or an arbitrary value for static methods) and produces a functional bound to it. Callers which
+ * wrap the same method repeatedly may retrieve this factory once and bind additional receivers via
+ * {@link MethodHandle#invokeExact(Object...)}.</p>
+ *
+ * <p>Factories are cached per method within the declaring class of the method. Wrapping a
+ * previously encountered method thus costs a single factory invocation while the cache is
+ * discarded along with the declaring class once it is unloaded.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public final class FunctionalFactory {
 
+  private static final MethodType RUNNABLE_FACTORY_TYPE = MethodType
+      .methodType(Runnable.class, Object.class);
+  private static final MethodType CONSUMER_FACTORY_TYPE = MethodType
+      .methodType(Consumer.class, Object.class);
+
+  private static final ClassValue<Map<Method, MethodHandle>> FACTORIES =
+      new ClassValue<Map<Method, MethodHandle>>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   private FunctionalFactory() {
   }
 
@@ -47,55 +71,34 @@ public final class FunctionalFactory {
    */
   @NonNull
   public static Runnable createRunnable(@Nullable Object instance, @NonNull Method method) {
-    boolean isStatic = Modifier.isStatic(method.getModifiers());
+    verifyContext(instance, method);
+    MethodHandle factory = createRunnableFactory(method);
 
-    if (isStatic != (instance == null)) {
-      throw new IllegalArgumentException(
-          "Illegal method call: " + (isStatic ? "Cannot call static method from instance context"
-              : "Cannot call virtual method from static context"));
+    try {
+      return (Runnable) factory.invokeExact(instance);
+    } catch (Throwable ex) {
+      throw new IllegalArgumentException("Failed to construct runnable for method: " + method, ex);
     }
+  }
 
+  /**
+   * <p>Creates a factory which wraps the indicated method in runnable functionals.</p>
+   *
+   * <p>The returned handle is of type {@code (Object)Runnable} and expects the receiver of the
+   * method (or, if the method is static, an ignored value) as its sole argument.</p>
+   *
+   * @param method a method.
+   * @return a factory method handle.
+   */
+  @NonNull
+  public static MethodHandle createRunnableFactory(@NonNull Method method) {
     if (method.getParameterCount() != 0) {
       throw new IllegalArgumentException(
           "Illegal method call: Expected zero arguments but method requires " + method
               .getParameterCount());
     }
 
-    try {
-      MethodHandles.Lookup caller = MethodHandles.lookup();
-      MethodHandle handle = caller.unreflect(method);
-      MethodType type = handle.type();
-      MethodType factoryType = MethodType.methodType(Runnable.class);
-
-      if (instance != null) {
-        type = type.dropParameterTypes(0, 1);
-        factoryType = factoryType.appendParameterTypes(method.getDeclaringClass());
-      }
-
-      CallSite site = LambdaMetafactory.metafactory(
-          caller,
-          "run",
-          factoryType,
-          type,
-          handle,
-          type
-      );
-
-      try {
-        if (instance != null) {
-          return (Runnable) site.getTarget().invoke(instance);
-        }
-
-        return (Runnable) site.getTarget().invoke();
-      } catch (Throwable ex) {
-        throw new IllegalArgumentException("Failed to construct runnable for method: " + method,
-            ex);
-      }
-    } catch (IllegalAccessException ex) {
-      throw new IllegalArgumentException("Cannot access method: " + method, ex);
-    } catch (LambdaConversionException ex) {
-      throw new IllegalArgumentException("Failed to convert method to lambda: " + method, ex);
-    }
+    return getFactory(method, "run", RUNNABLE_FACTORY_TYPE);
   }
 
   /**
@@ -107,54 +110,124 @@ public final class FunctionalFactory {
    */
   @SuppressWarnings("unchecked")
   public static <I> Consumer<I> createConsumer(@Nullable Object instance, @NonNull Method method) {
-    boolean isStatic = Modifier.isStatic(method.getModifiers());
+    verifyContext(instance, method);
+    MethodHandle factory = createConsumerFactory(method);
 
-    if (isStatic != (instance == null)) {
-      throw new IllegalArgumentException(
-          "Illegal method call: " + (isStatic ? "Cannot call static method from instance context"
-              : "Cannot call virtual method from static context"));
+    try {
+      return (Consumer<I>) factory.invokeExact(instance);
+    } catch (Throwable ex) {
+      throw new IllegalArgumentException("Failed to construct consumer for method: " + method, ex);
     }
+  }
 
+  /**
+   * <p>Creates a factory which wraps the indicated method in consumer functionals.</p>
+   *
+   * <p>The returned handle is of type {@code (Object)Consumer} and expects the receiver of the
+   * method (or, if the method is static, an ignored value) as its sole argument.</p>
+   *
+   * @param method a method.
+   * @return a factory method handle.
+   */
+  @NonNull
+  public static MethodHandle createConsumerFactory(@NonNull Method method) {
     if (method.getParameterCount() != 1) {
       throw new IllegalArgumentException(
           "Illegal method call: Expected one argument but method requires " + method
               .getParameterCount());
     }
 
+    return getFactory(method, "accept", CONSUMER_FACTORY_TYPE);
+  }
+
+  /**
+   * Retrieves the cached factory for the indicated method or creates it if necessary.
+   *
+   * @param method a method.
+   * @param name the name of the functional method.
+   * @param factoryType the desired factory type.
+   * @return a factory method handle.
+   */
+  @NonNull
+  private static MethodHandle getFactory(@NonNull Method method, @NonNull String name,
+      @NonNull MethodType factoryType) {
+    Map<Method, MethodHandle> factories = FACTORIES.get(method.getDeclaringClass());
+    MethodHandle factory = factories.get(method);
+
+    if (factory == null) {
+      factory = createFactory(method, name, factoryType);
+
+      MethodHandle previous = factories.putIfAbsent(method, factory);
+
+      if (previous != null) {
+        factory = previous;
+      }
+    }
+
+    return factory;
+  }
+
+  /**
+   * Spins a lambda implementation for the indicated method and adapts its factory to a common
+   * type.
+   *
+   * @param method a method.
+   * @param name the name of the functional method.
+   * @param factoryType the desired factory type.
+   * @return a factory method handle.
+   */
+  @NonNull
+  private static MethodHandle createFactory(@NonNull Method method, @NonNull String name,
+      @NonNull MethodType factoryType) {
+    boolean isStatic = Modifier.isStatic(method.getModifiers());
+
     try {
       MethodHandles.Lookup caller = MethodHandles.lookup();
       MethodHandle handle = caller.unreflect(method);
-      MethodType type = handle.type();
-      MethodType factoryType = MethodType.methodType(Consumer.class);
+      MethodType type = handle.type().changeReturnType(void.class);
+      MethodType invokedType = MethodType.methodType(factoryType.returnType());
 
-      if (instance != null) {
+      if (!isStatic) {
         type = type.dropParameterTypes(0, 1);
-        factoryType = factoryType.appendParameterTypes(method.getDeclaringClass());
+        invokedType = invokedType.appendParameterTypes(method.getDeclaringClass());
       }
 
       CallSite site = LambdaMetafactory.metafactory(
           caller,
-          "accept",
-          factoryType,
-          type.changeParameterType(0, Object.class),
+          name,
+          invokedType,
+          type.parameterCount() == 0 ? type : type.changeParameterType(0, Object.class),
           handle,
           type
       );
 
-      try {
-        if (instance != null) {
-          return (Consumer<I>) site.getTarget().invoke(instance);
-        }
+      MethodHandle factory = site.getTarget();
 
-        return (Consumer<I>) site.getTarget().invoke();
-      } catch (Throwable ex) {
-        throw new IllegalArgumentException("Failed to construct runnable for method: " + method,
-            ex);
+      if (isStatic) {
+        factory = MethodHandles.dropArguments(factory, 0, Object.class);
       }
+
+      return factory.asType(factoryType);
     } catch (IllegalAccessException ex) {
       throw new IllegalArgumentException("Cannot access method: " + method, ex);
     } catch (LambdaConversionException ex) {
       throw new IllegalArgumentException("Failed to convert method to lambda: " + method, ex);
     }
   }
+
+  /**
+   * Verifies whether the indicated method may be bound to a given instance.
+   *
+   * @param instance an instance or, if the method is static, null.
+   * @param method a method.
+   */
+  private static void verifyContext(@Nullable Object instance, @NonNull Method method) {
+    boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+    if (isStatic != (instance == null)) {
+      throw new IllegalArgumentException(
+          "Illegal method call: " + (isStatic ? "Cannot call static method from instance context"
+              : "Cannot call virtual method from static context"));
+    }
+  }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Retains the most recent instance of selected event types.</p>
+ *
+ * <p>Each concrete event type occupies a single slot which is replaced whenever a newer instance of
+ * the type is posted. The total amount of slots is bounded: Once exceeded, the slot which has not
+ * been updated for the longest amount of time is evicted. Slots may additionally expire after a
+ * configurable amount of time in which case they are discarded lazily.</p>
+ *
+ * <p>Whether an event type is retained is decided using the precomputed type closures of the
+ * {@link TypeIndex} and thus does not require any locking. Only the retention of selected events
+ * acquires the lock of this cache.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class StickyEventCache {
+
+  private final TypeIndex.Mask types;
+  private final long timeToLive;
+  private final Map<Class<?>, Slot> slots;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param types the event types (including their heirs) which are to be retained.
+   * @param maximumSize the maximum amount of retained events.
+   * @param timeToLive the amount of nanoseconds after which retained events expire or zero to
+   * retain events indefinitely.
+   */
+  public StickyEventCache(@NonNull Collection<Class<?>> types, int maximumSize, long timeToLive) {
+    this.types = TypeIndex.createMask(types);
+    this.timeToLive = timeToLive;
+    this.slots = new LinkedHashMap<Class<?>, Slot>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Class<?>, Slot> eldest) {
+        return this.size() > maximumSize;
+      }
+    };
+  }
+
+  /**
+   * Evaluates whether events of the indicated type are retained by this cache.
+   *
+   * @param type an event type.
+   * @return true if retained, false otherwise.
+   */
+  public boolean isSticky(@NonNull Class<?> type) {
+    return this.types.intersects(TypeIndex.getClosure(type));
+  }
+
+  /**
+   * Retains an event if its type has been selected for retention.
+   *
+   * @param event an event.
+   */
+  public void retain(@NonNull Object event) {
+    Class<?> type = event.getClass();
+
+    if (!this.isSticky(type)) {
+      return;
+    }
+
+    Slot slot = new Slot(event, System.nanoTime());
+
+    synchronized (this.slots) {
+      // re-inserting the slot moves it to the end of the eviction order
+      this.slots.remove(type);
+      this.slots.put(type, slot);
+    }
+  }
+
+  /**
+   * Retrieves the retained event of the indicated type.
+   *
+   * @param type an exact event type.
+   * @return an event or null if no unexpired event of the type has been retained.
+   */
+  @Nullable
+  public Object get(@NonNull Class<?> type) {
+    synchronized (this.slots) {
+      Slot slot = this.slots.get(type);
+
+      if (slot == null) {
+        return null;
+      }
+
+      if (this.isExpired(slot, System.nanoTime())) {
+        this.slots.remove(type);
+        return null;
+      }
+
+      return slot.event;
+    }
+  }
+
+  /**
+   * Retrieves all unexpired events within this cache.
+   *
+   * @return a list of events (in the order in which they were retained).
+   */
+  @NonNull
+  public List<Object> getEvents() {
+    long now = System.nanoTime();
+    List<Object> events = new ArrayList<>();
+
+    synchronized (this.slots) {
+      Iterator<Slot> iterator = this.slots.values().iterator();
+
+      while (iterator.hasNext()) {
+        Slot slot = iterator.next();
+
+        if (this.isExpired(slot, now)) {
+          iterator.remove();
+        } else {
+          events.add(slot.event);
+        }
+      }
+    }
+
+    return events;
+  }
+
+  /**
+   * Removes the retained event of the indicated type.
+   *
+   * @param type an exact event type.
+   * @return the removed event or null if no event of the type has been retained.
+   */
+  @Nullable
+  public Object remove(@NonNull Class<?> type) {
+    synchronized (this.slots) {
+      Slot slot = this.slots.remove(type);
+      return slot != null ? slot.event : null;
+    }
+  }
+
+  /**
+   * Removes all retained events.
+   */
+  public void clear() {
+    synchronized (this.slots) {
+      this.slots.clear();
+    }
+  }
+
+  /**
+   * Evaluates whether a slot has expired at the indicated point in time.
+   */
+  private boolean isExpired(@NonNull Slot slot, long now) {
+    return this.timeToLive != 0 && now - slot.timestamp >= this.timeToLive;
+  }
+
+  /**
+   * Represents a slot which retains a single event.
+   */
+  private static final class Slot {
+
+    private final Object event;
+    private final long timestamp;
+
+    private Slot(@NonNull Object event, long timestamp) {
+      this.event = event;
+      this.timestamp = timestamp;
+    }
+  }
+}
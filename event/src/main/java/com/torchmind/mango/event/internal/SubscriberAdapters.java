@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.event.adapter.SubscriberAdapter;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * <p>Locates generated subscriber adapters.</p>
+ *
+ * <p>Each class loader is consulted for its adapter index only once. Adapters are subsequently
+ * loaded on demand and cached per subscriber type.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class SubscriberAdapters {
+
+  private static final Map<ClassLoader, Set<String>> INDICES = new WeakHashMap<>();
+  private static final ClassValue<Optional<SubscriberAdapter<?>>> ADAPTERS =
+      new ClassValue<Optional<SubscriberAdapter<?>>>() {
+        @Override
+        protected Optional<SubscriberAdapter<?>> computeValue(Class<?> type) {
+          return Optional.ofNullable(loadAdapter(type));
+        }
+      };
+
+  private SubscriberAdapters() {
+  }
+
+  /**
+   * Retrieves the generated adapter for a given subscriber type.
+   *
+   * @param type a subscriber type.
+   * @param <T> a subscriber type.
+   * @return an adapter or null if no adapter has been generated for the exact type.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public static <T> SubscriberAdapter<T> getAdapter(@NonNull Class<T> type) {
+    return (SubscriberAdapter<T>) ADAPTERS.get(type).orElse(null);
+  }
+
+  /**
+   * Loads and instantiates the adapter for a given subscriber type (if listed within the index of
+   * its class loader).
+   *
+   * @param type a subscriber type.
+   * @return an adapter or null if no valid adapter is available.
+   */
+  @Nullable
+  private static SubscriberAdapter<?> loadAdapter(@NonNull Class<?> type) {
+    ClassLoader classLoader = type.getClassLoader();
+
+    if (classLoader == null || !getIndex(classLoader).contains(type.getName())) {
+      return null;
+    }
+
+    try {
+      Class<?> adapterType = Class.forName(type.getName() + SubscriberAdapter.CLASS_NAME_SUFFIX,
+          true, classLoader);
+
+      if (!SubscriberAdapter.class.isAssignableFrom(adapterType)) {
+        return null;
+      }
+
+      SubscriberAdapter<?> adapter = (SubscriberAdapter<?>) adapterType.getConstructor()
+          .newInstance();
+      return adapter.getSubscriberType() == type ? adapter : null;
+    } catch (ReflectiveOperationException | LinkageError ex) {
+      // stale index entries fall back to reflective registration
+      return null;
+    }
+  }
+
+  /**
+   * Retrieves the set of subscriber types which are listed within the adapter indices of a class
+   * loader.
+   *
+   * @param classLoader a class loader.
+   * @return a set of binary type names.
+   */
+  @NonNull
+  private static synchronized Set<String> getIndex(@NonNull ClassLoader classLoader) {
+    Set<String> index = INDICES.get(classLoader);
+
+    if (index == null) {
+      index = readIndex(classLoader);
+      INDICES.put(classLoader, index);
+    }
+
+    return index;
+  }
+
+  /**
+   * Reads all adapter indices which are visible to a class loader.
+   *
+   * @param classLoader a class loader.
+   * @return a set of binary type names.
+   */
+  @NonNull
+  private static Set<String> readIndex(@NonNull ClassLoader classLoader) {
+    Set<String> index = new HashSet<>();
+
+    try {
+      Enumeration<URL> resources = classLoader.getResources(SubscriberAdapter.INDEX_RESOURCE);
+
+      while (resources.hasMoreElements()) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+          reader.lines()
+              .map(String::trim)
+              .filter((line) -> !line.isEmpty() && !line.startsWith("#"))
+              .forEach(index::add);
+        }
+      }
+    } catch (IOException ex) {
+      // unreadable indices fall back to reflective registration
+    }
+
+    return index.isEmpty() ? Collections.emptySet() : index;
+  }
+}
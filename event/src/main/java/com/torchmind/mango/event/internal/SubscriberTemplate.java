@@ -0,0 +1,253 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.event.annotation.Subscribe;
+import com.torchmind.mango.event.annotation.Subscribe.DefaultValue;
+import com.torchmind.mango.event.subscription.ConsumerSubscription;
+import com.torchmind.mango.event.subscription.OverflowPolicy;
+import com.torchmind.mango.event.subscription.RunnableSubscription;
+import com.torchmind.mango.event.subscription.Subscription;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import com.torchmind.reflect.AnnotationUtility;
+import com.torchmind.reflect.ReflectionUtility;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <p>Represents the resolved subscription metadata of a subscriber type.</p>
+ *
+ * <p>Templates are computed once per subscriber type and retain the annotated methods of the type
+ * along with their filters, priorities and pre-built functional factories. As a result, the
+ * registration of further instances of the same type merely binds their receivers.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class SubscriberTemplate {
+
+  private static final ClassValue<SubscriberTemplate> TEMPLATES =
+      new ClassValue<SubscriberTemplate>() {
+        @Override
+        protected SubscriberTemplate computeValue(Class<?> type) {
+          return new SubscriberTemplate(type);
+        }
+      };
+
+  private final List<Handler> handlers;
+
+  private SubscriberTemplate(@NonNull Class<?> type) {
+    List<Handler> handlers = new ArrayList<>();
+
+    ReflectionUtility.getUniqueMethods(type).forEach((method) -> {
+      Subscribe annotation = method.getAnnotation(Subscribe.class);
+
+      if (annotation != null) {
+        handlers.add(new Handler(method, AnnotationUtility.decorate(annotation)));
+      }
+    });
+
+    this.handlers = Collections.unmodifiableList(handlers);
+  }
+
+  /**
+   * <p>Retrieves the template for a given subscriber type.</p>
+   *
+   * <p>Templates are computed when a type is first encountered and retained until the type is
+   * unloaded.</p>
+   *
+   * @param type a subscriber type.
+   * @return a template.
+   * @throws IllegalArgumentException when the type declares an illegal subscription.
+   */
+  @NonNull
+  public static SubscriberTemplate of(@NonNull Class<?> type) {
+    return TEMPLATES.get(type);
+  }
+
+  /**
+   * Retrieves the handlers which are declared by the subscriber type.
+   *
+   * @return an unmodifiable list of handlers.
+   */
+  @NonNull
+  public List<Handler> getHandlers() {
+    return this.handlers;
+  }
+
+  /**
+   * Represents a single annotated handler method.
+   */
+  public static final class Handler {
+
+    private final Method method;
+    private final EventFilter filter;
+    private final int priority;
+    private final boolean async;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final String name;
+    private final MethodHandle factory;
+
+    private Handler(@NonNull Method method, @NonNull Subscribe annotation) {
+      if (method.getParameterCount() > 1) {
+        throw new IllegalArgumentException("Illegal subscription for method " + method
+            + ": Expecting exactly zero or one parameter");
+      }
+
+      if (annotation.eventType().length == 0) {
+        throw new IllegalArgumentException(
+            "Illegal subscription for method " + method + ": Expected one or more event types");
+      }
+
+      Class<?>[] eventTypes;
+
+      if (annotation.eventType()[0] != DefaultValue.class) {
+        eventTypes = annotation.eventType();
+      } else {
+        if (method.getParameterCount() != 1) {
+          throw new IllegalArgumentException(
+              "Illegal subscription for method " + method + ": Cannot infer accepted event type");
+        }
+
+        eventTypes = new Class[]{method.getParameterTypes()[0]};
+      }
+
+      if (annotation.queueCapacity() < 0) {
+        throw new IllegalArgumentException("Illegal subscription for method " + method
+            + ": Expected a positive queue capacity but got " + annotation.queueCapacity());
+      }
+
+      if (Modifier.isStatic(method.getModifiers())) {
+        throw new IllegalArgumentException(
+            "Illegal method call: Cannot call static method from instance context");
+      }
+
+      this.method = method;
+      this.filter = new EventFilter.Builder()
+          .withEventType(eventTypes)
+          .withAcceptCancelled(annotation.acceptCancelled())
+          .withAcceptHeirs(annotation.acceptHeirs())
+          .withCondition(annotation.condition())
+          .build();
+      this.priority = annotation.priority();
+      this.async = annotation.async();
+      this.queueCapacity = annotation.queueCapacity();
+      this.overflowPolicy = annotation.overflowPolicy();
+      this.name = method.getDeclaringClass().getName() + "#" + method.getName();
+      this.factory = method.getParameterCount() == 0 ? FunctionalFactory
+          .createRunnableFactory(method) : FunctionalFactory.createConsumerFactory(method);
+    }
+
+    /**
+     * Creates a subscription which passes events to this handler on the indicated instance.
+     *
+     * @param instance a subscriber instance.
+     * @return a subscription.
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public Subscription bind(@NonNull Object instance) {
+      try {
+        if (this.method.getParameterCount() == 0) {
+          return new RunnableSubscription((Runnable) this.factory.invokeExact(instance),
+              this.filter, this.priority);
+        }
+
+        return new ConsumerSubscription((Consumer<Object>) this.factory.invokeExact(instance),
+            this.filter, this.priority);
+      } catch (Throwable ex) {
+        throw new IllegalArgumentException("Failed to bind handler: " + this.method, ex);
+      }
+    }
+
+    /**
+     * Retrieves the filter which is applied to all subscriptions of this handler.
+     *
+     * @return a filter.
+     */
+    @NonNull
+    public EventFilter getFilter() {
+      return this.filter;
+    }
+
+    /**
+     * Retrieves the annotated method.
+     *
+     * @return a method.
+     */
+    @NonNull
+    public Method getMethod() {
+      return this.method;
+    }
+
+    /**
+     * Retrieves the human readable name which identifies subscriptions of this handler within the
+     * metrics of an instrumented bus.
+     *
+     * @return a name.
+     */
+    @NonNull
+    public String getName() {
+      return this.name;
+    }
+
+    /**
+     * Retrieves the strategy which is applied once the queue of a bounded subscription of this
+     * handler is full.
+     *
+     * @return a policy.
+     */
+    @NonNull
+    public OverflowPolicy getOverflowPolicy() {
+      return this.overflowPolicy;
+    }
+
+    /**
+     * Retrieves the priority of this handler.
+     *
+     * @return a priority.
+     */
+    public int getPriority() {
+      return this.priority;
+    }
+
+    /**
+     * Retrieves the maximum amount of pending events of an asynchronous subscription of this
+     * handler.
+     *
+     * @return a capacity or zero if unbounded.
+     */
+    public int getQueueCapacity() {
+      return this.queueCapacity;
+    }
+
+    /**
+     * Evaluates whether this handler is invoked asynchronously.
+     *
+     * @return true if asynchronous, false otherwise.
+     */
+    public boolean isAsync() {
+      return this.async;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Counts occurrences per type without preventing the counted types from being unloaded.</p>
+ *
+ * <p>Counters are attached to their respective type via a {@link ClassValue} and thus do not
+ * require any lookup beyond the first increment. All counters are additionally tracked (along
+ * with a weak reference to their type) in order to permit their enumeration. Counters of unloaded
+ * types are discarded when the counts are next retrieved.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TypeCounter {
+
+  private final Set<Counter> counters = ConcurrentHashMap.newKeySet();
+  private final ClassValue<Counter> values = new ClassValue<Counter>() {
+    @Override
+    protected Counter computeValue(Class<?> type) {
+      Counter counter = new Counter(type);
+      TypeCounter.this.counters.add(counter);
+      return counter;
+    }
+  };
+
+  /**
+   * Increments the count of a given type.
+   *
+   * @param type a type.
+   */
+  public void increment(@NonNull Class<?> type) {
+    this.values.get(type).count.increment();
+  }
+
+  /**
+   * Retrieves the counts of all types which have been counted at least once and are still loaded.
+   *
+   * @return an unmodifiable point-in-time map of types and their respective counts.
+   */
+  @NonNull
+  public Map<Class<?>, Long> getCounts() {
+    Map<Class<?>, Long> counts = new HashMap<>();
+
+    this.counters.removeIf((counter) -> {
+      Class<?> type = counter.type.get();
+
+      if (type == null) {
+        return true;
+      }
+
+      counts.put(type, counter.count.sum());
+      return false;
+    });
+
+    return Collections.unmodifiableMap(counts);
+  }
+
+  /**
+   * Represents the counter of a single type.
+   */
+  private static final class Counter {
+
+    private final WeakReference<Class<?>> type;
+    private final LongAdder count = new LongAdder();
+
+    private Counter(@NonNull Class<?> type) {
+      this.type = new WeakReference<>(type);
+    }
+  }
+}
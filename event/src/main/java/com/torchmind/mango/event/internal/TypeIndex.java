@@ -0,0 +1,254 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.concurrency.lock.FunctionalLock;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Interns types to dense integer identifiers and provides their precomputed ancestor
+ * closures.</p>
+ *
+ * <p>The closure of a type is a bitset which contains the identifiers of the type itself, all of
+ * its superclasses and all interfaces it implements (directly or indirectly). As a result, the
+ * question of whether any type within a set is assignable from a given type is reduced to the
+ * intersection of two bitsets.</p>
+ *
+ * <p>Identifiers are re-used once their type has been unloaded and no {@link Mask} refers to them
+ * any longer. Masks thus retain the identifiers (but not the types) they have been created from
+ * while the identifier space remains bounded by the amount of types which are loaded (or selected
+ * by a mask) at the same time. Released identifiers are reclaimed lazily whenever a new type is
+ * interned and the lowest released identifier is handed out first.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TypeIndex {
+
+  private static final FunctionalLock LOCK = FunctionalLock.wrap(new ReentrantLock());
+  private static final ReferenceQueue<Entry> RELEASED_ENTRIES = new ReferenceQueue<>();
+  private static final Set<Release> RELEASES = new HashSet<>();
+  private static final BitSet RELEASED_IDS = new BitSet();
+  private static int nextId;
+
+  private static final ClassValue<Entry> ENTRIES = new ClassValue<Entry>() {
+    @Override
+    protected Entry computeValue(Class<?> type) {
+      return new Entry(type);
+    }
+  };
+
+  private TypeIndex() {
+  }
+
+  /**
+   * Retrieves the dense identifier of a type.
+   *
+   * @param type a type.
+   * @return an identifier.
+   */
+  public static int getId(@NonNull Class<?> type) {
+    return ENTRIES.get(type).id;
+  }
+
+  /**
+   * <p>Retrieves the ancestor closure of a type (including the type itself).</p>
+   *
+   * <p>The returned bitset remains valid only while the type is loaded and must thus not be
+   * retained beyond the lifetime of the type.</p>
+   *
+   * @param type a type.
+   * @return a bitset of type identifiers which must not be modified.
+   */
+  @NonNull
+  public static long[] getClosure(@NonNull Class<?> type) {
+    return ENTRIES.get(type).closure;
+  }
+
+  /**
+   * Creates a mask which contains the identifiers of all passed types.
+   *
+   * @param types a collection of types.
+   * @return a mask.
+   */
+  @NonNull
+  public static Mask createMask(@NonNull Collection<Class<?>> types) {
+    List<Entry> entries = new ArrayList<>(types.size());
+    BitSet bits = new BitSet();
+
+    types.forEach((type) -> {
+      Entry entry = ENTRIES.get(type);
+      entries.add(entry);
+      bits.set(entry.id);
+    });
+
+    return new Mask(bits.toLongArray(), entries.toArray(new Entry[0]));
+  }
+
+  /**
+   * Allocates an identifier for a newly interned type.
+   *
+   * @param entry the entry of the type.
+   * @return an identifier.
+   */
+  private static int allocateId(@NonNull Entry entry) {
+    return LOCK.runProtected(() -> {
+      Reference<? extends Entry> reference;
+
+      while ((reference = RELEASED_ENTRIES.poll()) != null) {
+        Release release = (Release) reference;
+        RELEASES.remove(release);
+        RELEASED_IDS.set(release.id);
+      }
+
+      int id = RELEASED_IDS.nextSetBit(0);
+
+      if (id != -1) {
+        RELEASED_IDS.clear(id);
+      } else {
+        id = nextId++;
+      }
+
+      RELEASES.add(new Release(entry, id));
+      return id;
+    });
+  }
+
+  /**
+   * Represents a set of type identifiers which are retained for as long as the mask itself is
+   * reachable.
+   */
+  public static final class Mask {
+
+    private final long[] bits;
+    // retains the identifiers of the selected types
+    @SuppressWarnings("unused")
+    private final Entry[] entries;
+
+    private Mask(@NonNull long[] bits, @NonNull Entry[] entries) {
+      this.bits = bits;
+      this.entries = entries;
+    }
+
+    /**
+     * Evaluates whether this mask contains the indicated identifier.
+     *
+     * @param id an identifier.
+     * @return true if contained, false otherwise.
+     */
+    public boolean contains(int id) {
+      int index = id >>> 6;
+      return index < this.bits.length && (this.bits[index] & (1L << id)) != 0;
+    }
+
+    /**
+     * Evaluates whether this mask shares at least one identifier with a type closure.
+     *
+     * @param closure a type closure.
+     * @return true if intersecting, false otherwise.
+     */
+    public boolean intersects(@NonNull long[] closure) {
+      int length = Math.min(this.bits.length, closure.length);
+
+      for (int i = 0; i < length; ++i) {
+        if ((this.bits[i] & closure[i]) != 0) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * Releases the identifier of an entry once the entry has been collected.
+   */
+  private static final class Release extends PhantomReference<Entry> {
+
+    private final int id;
+
+    private Release(@NonNull Entry entry, int id) {
+      super(entry, RELEASED_ENTRIES);
+      this.id = id;
+    }
+  }
+
+  /**
+   * Represents the identifier and ancestor closure of a single type.
+   */
+  private static final class Entry {
+
+    private final int id;
+    private final long[] closure;
+
+    private Entry(@NonNull Class<?> type) {
+      this.id = allocateId(this);
+
+      BitSet closure = new BitSet();
+      closure.set(this.id);
+
+      if (type != Object.class) {
+        for (Class<?> supertype : getSupertypes(type)) {
+          closure.or(BitSet.valueOf(getClosure(supertype)));
+        }
+      }
+
+      this.closure = closure.toLongArray();
+    }
+
+    /**
+     * Retrieves the direct supertypes of a type.
+     *
+     * @param type a type.
+     * @return a list of types.
+     */
+    @NonNull
+    private static List<Class<?>> getSupertypes(@NonNull Class<?> type) {
+      List<Class<?>> supertypes = new ArrayList<>();
+
+      if (type.isPrimitive()) {
+        return supertypes;
+      }
+
+      Class<?> superclass = type.getSuperclass();
+      supertypes.add(superclass != null ? superclass : Object.class);
+      supertypes.addAll(Arrays.asList(type.getInterfaces()));
+
+      // arrays are covariant with respect to their reference component types
+      Class<?> componentType = type.getComponentType();
+      if (componentType != null && componentType != Object.class && !componentType
+          .isPrimitive()) {
+        for (Class<?> supertype : getSupertypes(componentType)) {
+          supertypes.add(Array.newInstance(supertype, 0).getClass());
+        }
+      }
+
+      return supertypes;
+    }
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.concurrency.lock.FunctionalLock;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <p>Maps objects (by identity) to values without preventing the objects from being garbage
+ * collected.</p>
+ *
+ * <p>Entries are located within an open addressing table (using linear probing) and may thus be
+ * retrieved without locking or allocating. Modifications are serialized internally. Removed
+ * entries and entries of collected keys are discarded once the table is rebuilt.</p>
+ *
+ * <p>Values must not reference their keys as their keys would otherwise remain reachable.</p>
+ *
+ * @param <K> a key type.
+ * @param <V> a value type.
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class WeakIdentityMap<K, V> {
+
+  private static final int MINIMUM_CAPACITY = 16;
+
+  private final FunctionalLock lock = FunctionalLock.wrap(new ReentrantLock());
+  private volatile Entry<K, V>[] table = newTable(MINIMUM_CAPACITY);
+  private int entryCount;
+
+  /**
+   * Creates a new empty table of the given capacity.
+   *
+   * @param capacity a power of two.
+   * @param <K> a key type.
+   * @param <V> a value type.
+   * @return a table.
+   */
+  @NonNull
+  @SuppressWarnings("unchecked")
+  private static <K, V> Entry<K, V>[] newTable(int capacity) {
+    return (Entry<K, V>[]) new Entry[capacity];
+  }
+
+  /**
+   * Retrieves the value which is associated with a given key.
+   *
+   * @param key a key.
+   * @return a value or null if no value is associated with the key.
+   */
+  @Nullable
+  public V get(@NonNull K key) {
+    Entry<K, V> entry = find(this.table, key);
+    return entry != null ? entry.value : null;
+  }
+
+  /**
+   * Retrieves the value which is associated with a given key or associates a newly computed value
+   * if no value is present.
+   *
+   * @param key a key.
+   * @param function a function which computes the value.
+   * @return a value.
+   */
+  @NonNull
+  public V computeIfAbsent(@NonNull K key, @NonNull Function<? super K, ? extends V> function) {
+    V value = this.get(key);
+
+    if (value != null) {
+      return value;
+    }
+
+    return this.lock.runProtected(() -> {
+      Entry<K, V> entry = this.getOrCreateEntry(key);
+
+      if (entry.value == null) {
+        entry.value = function.apply(key);
+      }
+
+      return entry.value;
+    });
+  }
+
+  /**
+   * Associates a value with a given key.
+   *
+   * @param key a key.
+   * @param value a value.
+   */
+  public void put(@NonNull K key, @NonNull V value) {
+    this.lock.runProtected(() -> {
+      this.getOrCreateEntry(key).value = value;
+    });
+  }
+
+  /**
+   * Removes the value which is associated with a given key (if any).
+   *
+   * @param key a key.
+   */
+  public void remove(@NonNull K key) {
+    this.lock.runProtected(() -> {
+      Entry<K, V> entry = find(this.table, key);
+
+      if (entry != null) {
+        entry.value = null;
+      }
+    });
+  }
+
+  /**
+   * Passes all present keys and their respective values to the supplied action.
+   *
+   * @param action an action.
+   */
+  public void forEach(@NonNull BiConsumer<? super K, ? super V> action) {
+    for (Entry<K, V> entry : this.table) {
+      if (entry == null) {
+        continue;
+      }
+
+      K key = entry.get();
+      V value = entry.value;
+
+      if (key != null && value != null) {
+        action.accept(key, value);
+      }
+    }
+  }
+
+  /**
+   * Locates the entry of a given key within a table.
+   *
+   * @param table a table.
+   * @param key a key.
+   * @param <K> a key type.
+   * @param <V> a value type.
+   * @return an entry or null if the table does not contain an entry for the key.
+   */
+  @Nullable
+  private static <K, V> Entry<K, V> find(@NonNull Entry<K, V>[] table, @NonNull K key) {
+    int mask = table.length - 1;
+
+    // tables always retain at least half of their cells empty and thus terminate all probes
+    for (int i = System.identityHashCode(key) & mask; ; i = (i + 1) & mask) {
+      Entry<K, V> entry = table[i];
+
+      if (entry == null || entry.get() == key) {
+        return entry;
+      }
+    }
+  }
+
+  /**
+   * <p>Retrieves the entry of a given key or inserts a new entry if none is present.</p>
+   *
+   * <p>New entries are inserted into the current table in place and only become visible to other
+   * threads once the table is re-published. This method must only be invoked while holding the
+   * lock.</p>
+   *
+   * @param key a key.
+   * @return an entry.
+   */
+  @NonNull
+  private Entry<K, V> getOrCreateEntry(@NonNull K key) {
+    Entry<K, V>[] table = this.table;
+    Entry<K, V> entry = find(table, key);
+
+    if (entry != null) {
+      return entry;
+    }
+
+    if ((this.entryCount + 1) * 2 > table.length) {
+      table = this.rebuild(table);
+    }
+
+    entry = new Entry<>(key);
+    insert(table, entry);
+    ++this.entryCount;
+
+    this.table = table;
+    return entry;
+  }
+
+  /**
+   * Creates a new table which contains all entries of the passed table which have neither been
+   * removed nor collected.
+   *
+   * @param table a table.
+   * @return a table.
+   */
+  @NonNull
+  private Entry<K, V>[] rebuild(@NonNull Entry<K, V>[] table) {
+    int count = 0;
+
+    for (Entry<K, V> entry : table) {
+      if (entry != null && entry.isPresent()) {
+        ++count;
+      }
+    }
+
+    int capacity = MINIMUM_CAPACITY;
+    while (capacity < (count + 1) * 4) {
+      capacity <<= 1;
+    }
+
+    Entry<K, V>[] rebuilt = newTable(capacity);
+
+    for (Entry<K, V> entry : table) {
+      if (entry != null && entry.isPresent()) {
+        insert(rebuilt, entry);
+      }
+    }
+
+    this.entryCount = count;
+    return rebuilt;
+  }
+
+  /**
+   * Inserts an entry into the first free cell of its probe sequence.
+   *
+   * @param table a table.
+   * @param entry an entry.
+   * @param <K> a key type.
+   * @param <V> a value type.
+   */
+  private static <K, V> void insert(@NonNull Entry<K, V>[] table, @NonNull Entry<K, V> entry) {
+    int mask = table.length - 1;
+    int i = entry.hash & mask;
+
+    while (table[i] != null) {
+      i = (i + 1) & mask;
+    }
+
+    table[i] = entry;
+  }
+
+  /**
+   * Weakly references a key and stores its associated value.
+   *
+   * @param <K> a key type.
+   * @param <V> a value type.
+   */
+  private static final class Entry<K, V> extends WeakReference<K> {
+
+    private final int hash;
+    private volatile V value;
+
+    private Entry(@NonNull K key) {
+      super(key);
+      this.hash = System.identityHashCode(key);
+    }
+
+    /**
+     * Evaluates whether this entry still holds a value for a reachable key.
+     *
+     * @return true if present, false otherwise.
+     */
+    private boolean isPresent() {
+      return this.value != null && this.get() != null;
+    }
+  }
+}
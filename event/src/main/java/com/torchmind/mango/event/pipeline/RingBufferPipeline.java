@@ -0,0 +1,368 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.pipeline;
+
+import com.torchmind.mango.event.EventBus;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>Provides a pipeline which decouples a single publishing thread from the dispatch of its
+ * events.</p>
+ *
+ * <p>Events are written into a preallocated ring of slots and handed to a dedicated consumer
+ * thread by advancing a sequence counter. As neither side acquires locks or allocates memory, this
+ * pipeline is suitable for event sources which publish millions of events per second (such as
+ * telemetry or market data feeds).</p>
+ *
+ * <p>Pipelines permit a single producer only: Calls to {@link #publish(Object)} must not occur
+ * concurrently and must be ordered by a happens-before relation when made from different
+ * threads.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class RingBufferPipeline implements AutoCloseable {
+
+  /**
+   * Defines the amount of slots which are allocated when no custom capacity is specified.
+   */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final EventBus eventBus;
+  private final boolean broadcast;
+  private final WaitStrategy waitStrategy;
+  private final BiConsumer<Object, Throwable> exceptionHandler;
+
+  private final Object[] ring;
+  private final int mask;
+
+  /**
+   * Identifies the last sequence which has been published by the producer.
+   */
+  private final Sequence cursor = new Sequence(-1);
+
+  /**
+   * Identifies the last sequence which has been dispatched by the consumer.
+   */
+  private final Sequence consumed = new Sequence(-1);
+
+  private final Thread consumer;
+  private volatile boolean running = true;
+
+  /**
+   * The last sequence claimed by the producer (only accessed by the producer).
+   */
+  private long claimed = -1;
+
+  /**
+   * The last known consumer sequence as observed by the producer (only accessed by the
+   * producer).
+   */
+  private long cachedConsumed = -1;
+
+  private RingBufferPipeline(@NonNull Builder builder) {
+    this.eventBus = builder.eventBus;
+    this.broadcast = builder.broadcast;
+    this.waitStrategy = builder.waitStrategy;
+    this.exceptionHandler = builder.exceptionHandler;
+
+    this.ring = new Object[builder.capacity];
+    this.mask = builder.capacity - 1;
+
+    this.consumer = builder.threadFactory.newThread(this::consume);
+    this.consumer.start();
+  }
+
+  /**
+   * Retrieves the amount of slots within this pipeline.
+   *
+   * @return a power of two.
+   */
+  public int getCapacity() {
+    return this.ring.length;
+  }
+
+  /**
+   * Retrieves the amount of events which have been published but not yet dispatched.
+   *
+   * @return an amount of events.
+   */
+  public int getBacklog() {
+    return (int) (this.cursor.get() - this.consumed.get());
+  }
+
+  /**
+   * Retrieves the event bus to which events are passed by this pipeline.
+   *
+   * @return an event bus.
+   */
+  @NonNull
+  public EventBus getEventBus() {
+    return this.eventBus;
+  }
+
+  /**
+   * Retrieves the strategy which is used to wait for capacity or events.
+   *
+   * @return a wait strategy.
+   */
+  @NonNull
+  public WaitStrategy getWaitStrategy() {
+    return this.waitStrategy;
+  }
+
+  /**
+   * Evaluates whether this pipeline is still accepting events.
+   *
+   * @return true if running, false otherwise.
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * <p>Publishes an event into this pipeline.</p>
+   *
+   * <p>When the pipeline has reached its capacity, the calling thread will wait for the consumer
+   * using the configured wait strategy.</p>
+   *
+   * @param event an event.
+   * @throws IllegalStateException when the pipeline has been closed.
+   */
+  public void publish(@NonNull Object event) {
+    if (!this.running) {
+      throw new IllegalStateException("Pipeline has been closed");
+    }
+
+    long sequence = this.claimed + 1;
+    long wrapPoint = sequence - this.ring.length;
+
+    if (wrapPoint > this.cachedConsumed) {
+      int counter = 0;
+
+      while (wrapPoint > (this.cachedConsumed = this.consumed.get())) {
+        if (!this.consumer.isAlive()) {
+          throw new IllegalStateException("Pipeline consumer has terminated");
+        }
+
+        counter = this.waitStrategy.idle(counter);
+      }
+    }
+
+    this.ring[(int) (sequence & this.mask)] = event;
+    this.claimed = sequence;
+    this.cursor.set(sequence);
+  }
+
+  /**
+   * <p>Stops accepting events and waits for the consumer to dispatch all remaining events.</p>
+   *
+   * <p>This method must be invoked by the producer thread (or after it has ceased publishing
+   * events).</p>
+   *
+   * <p>When the calling thread is interrupted while waiting, this method returns immediately
+   * (while the consumer continues to drain the remaining events) and the interrupt flag of the
+   * calling thread is restored.</p>
+   */
+  @Override
+  public void close() {
+    this.running = false;
+
+    if (Thread.currentThread() != this.consumer) {
+      try {
+        this.consumer.join();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Continuously dispatches all published events until the pipeline is closed and drained.
+   */
+  private void consume() {
+    long next = this.consumed.get() + 1;
+    int counter = 0;
+
+    while (true) {
+      long available = this.cursor.get();
+
+      if (available < next) {
+        if (!this.running && available == this.cursor.get()) {
+          return;
+        }
+
+        counter = this.waitStrategy.idle(counter);
+        continue;
+      }
+
+      while (next <= available) {
+        int index = (int) (next & this.mask);
+        Object event = this.ring[index];
+        this.ring[index] = null;
+
+        this.dispatch(event);
+        ++next;
+      }
+
+      this.consumed.set(available);
+      counter = 0;
+    }
+  }
+
+  /**
+   * Passes a single event to the event bus.
+   *
+   * @param event an event.
+   */
+  private void dispatch(@NonNull Object event) {
+    try {
+      if (this.broadcast) {
+        this.eventBus.broadcast(event);
+      } else {
+        this.eventBus.post(event);
+      }
+    } catch (Throwable ex) {
+      this.exceptionHandler.accept(event, ex);
+    }
+  }
+
+  /**
+   * Passes an exception to the uncaught exception handler of the consumer thread.
+   *
+   * @param event the event which was being dispatched.
+   * @param ex an exception.
+   */
+  private static void handleUncaught(@NonNull Object event, @NonNull Throwable ex) {
+    Thread thread = Thread.currentThread();
+    thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+  }
+
+  /**
+   * Provides a factory for ring buffer pipelines.
+   */
+  public static final class Builder {
+
+    private final EventBus eventBus;
+    private int capacity = DEFAULT_CAPACITY;
+    private boolean broadcast;
+    private WaitStrategy waitStrategy = WaitStrategy.PARK;
+    private BiConsumer<Object, Throwable> exceptionHandler = RingBufferPipeline::handleUncaught;
+    private ThreadFactory threadFactory = (runnable) -> {
+      Thread thread = new Thread(runnable, "mango-pipeline-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+
+    public Builder(@NonNull EventBus eventBus) {
+      this.eventBus = eventBus;
+    }
+
+    /**
+     * Creates a new pipeline and starts its consumer thread.
+     *
+     * @return a pipeline.
+     */
+    @NonNull
+    public RingBufferPipeline build() {
+      return new RingBufferPipeline(this);
+    }
+
+    /**
+     * <p>Selects whether events shall be broadcast to the children of the event bus as well.</p>
+     *
+     * <p>By default, events are only posted to the event bus itself.</p>
+     *
+     * @param broadcast if true broadcasts events, otherwise posts them.
+     * @return a reference to this builder.
+     */
+    @NonNull
+    public Builder withBroadcast(boolean broadcast) {
+      this.broadcast = broadcast;
+      return this;
+    }
+
+    /**
+     * <p>Selects the amount of slots within the ring.</p>
+     *
+     * <p>By default, {@link #DEFAULT_CAPACITY} slots are allocated.</p>
+     *
+     * @param capacity a power of two.
+     * @return a reference to this builder.
+     * @throws IllegalArgumentException when the capacity is not a positive power of two.
+     */
+    @NonNull
+    public Builder withCapacity(int capacity) {
+      if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+        throw new IllegalArgumentException(
+            "Illegal capacity: Expected a positive power of two but got " + capacity);
+      }
+
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * <p>Selects the handler which is notified when the dispatch of an event fails.</p>
+     *
+     * <p>By default, exceptions are passed to the uncaught exception handler of the consumer
+     * thread. The consumer continues with the next event in either case.</p>
+     *
+     * @param exceptionHandler an exception handler.
+     * @return a reference to this builder.
+     */
+    @NonNull
+    public Builder withExceptionHandler(
+        @NonNull BiConsumer<Object, Throwable> exceptionHandler) {
+      this.exceptionHandler = exceptionHandler;
+      return this;
+    }
+
+    /**
+     * <p>Selects the factory which creates the consumer thread.</p>
+     *
+     * <p>By default, a daemon thread is created.</p>
+     *
+     * @param threadFactory a thread factory.
+     * @return a reference to this builder.
+     */
+    @NonNull
+    public Builder withThreadFactory(@NonNull ThreadFactory threadFactory) {
+      this.threadFactory = threadFactory;
+      return this;
+    }
+
+    /**
+     * <p>Selects the strategy which is used by the producer while waiting for capacity and by the
+     * consumer while waiting for events.</p>
+     *
+     * <p>By default, {@link WaitStrategy#PARK} is used.</p>
+     *
+     * @param waitStrategy a wait strategy.
+     * @return a reference to this builder.
+     */
+    @NonNull
+    public Builder withWaitStrategy(@NonNull WaitStrategy waitStrategy) {
+      this.waitStrategy = waitStrategy;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.pipeline;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * <p>Provides a sequence counter which is padded in order to occupy a cache line of its own.</p>
+ *
+ * <p>Sequences are written by exactly one thread and thus use ordered (lazy) writes which are
+ * sufficient to publish all preceding writes to other threads.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class Sequence extends SequenceRightPadding {
+
+  private static final AtomicLongFieldUpdater<SequenceValue> VALUE = AtomicLongFieldUpdater
+      .newUpdater(SequenceValue.class, "value");
+
+  Sequence(long value) {
+    this.value = value;
+  }
+
+  /**
+   * Retrieves the current value of this sequence.
+   *
+   * @return a value.
+   */
+  long get() {
+    return this.value;
+  }
+
+  /**
+   * Updates the value of this sequence using an ordered write.
+   *
+   * @param value a value.
+   */
+  void set(long value) {
+    VALUE.lazySet(this, value);
+  }
+}
+
+/**
+ * Pads the value of a sequence on its left side.
+ */
+@SuppressWarnings("unused")
+abstract class SequenceLeftPadding {
+
+  protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+/**
+ * Stores the value of a sequence.
+ */
+abstract class SequenceValue extends SequenceLeftPadding {
+
+  protected volatile long value;
+}
+
+/**
+ * Pads the value of a sequence on its right side.
+ */
+@SuppressWarnings("unused")
+abstract class SequenceRightPadding extends SequenceValue {
+
+  protected long p9, p10, p11, p12, p13, p14, p15;
+}
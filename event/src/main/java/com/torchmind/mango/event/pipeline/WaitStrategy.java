@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.pipeline;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>Defines the strategies which may be used by pipelines to wait for capacity (on the publishing
+ * side) or events (on the consuming side).</p>
+ *
+ * <p>Strategies trade latency for CPU usage: Busy spinning offers the lowest latency but occupies
+ * an entire core while parking frees the core at the cost of wake-up latency.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum WaitStrategy {
+
+  /**
+   * Continuously polls without ever giving up the processor.
+   */
+  BUSY_SPIN {
+    @Override
+    int idle(int counter) {
+      return counter + 1;
+    }
+  },
+
+  /**
+   * Briefly spins before yielding the processor to other threads on every subsequent attempt.
+   */
+  YIELD {
+    @Override
+    int idle(int counter) {
+      if (counter >= SPIN_TRIES) {
+        Thread.yield();
+      }
+
+      return counter + 1;
+    }
+  },
+
+  /**
+   * Briefly spins and yields before parking the waiting thread for short periods of time.
+   */
+  PARK {
+    @Override
+    int idle(int counter) {
+      if (counter >= SPIN_TRIES + YIELD_TRIES) {
+        LockSupport.parkNanos(PARK_NANOS);
+      } else if (counter >= SPIN_TRIES) {
+        Thread.yield();
+      }
+
+      return counter + 1;
+    }
+  };
+
+  private static final int SPIN_TRIES = 100;
+  private static final int YIELD_TRIES = 100;
+  private static final long PARK_NANOS = 50_000;
+
+  /**
+   * Waits for a single iteration.
+   *
+   * @param counter the amount of consecutive unsuccessful attempts so far.
+   * @return the new amount of consecutive unsuccessful attempts.
+   */
+  abstract int idle(int counter);
+}
@@ -35,6 +35,16 @@ public abstract class AbstractSubscription implements Subscription {
     this.priority = priority;
   }
 
+  /**
+   * Retrieves the filter which decides whether this subscription accepts an event.
+   *
+   * @return a filter.
+   */
+  @NonNull
+  public EventFilter getEventFilter() {
+    return this.eventFilter;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -58,4 +68,12 @@ public abstract class AbstractSubscription implements Subscription {
   public boolean accepts(@NonNull Object event) {
     return this.eventFilter.accepts(event);
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean acceptsCancelled() {
+    return this.eventFilter.acceptsCancelled();
+  }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Provides a subscription which evaluates its filter within the publishing thread but handles
+ * accepted events on an executor.</p>
+ *
+ * <p>Since the publisher does not wait for asynchronous handlers, any changes to the cancellation
+ * state of an event made by such a handler will not be observed by subsequent subscriptions or the
+ * publisher itself.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class AsyncSubscription implements Subscription {
+
+  private final Subscription subscription;
+  private final Executor executor;
+
+  public AsyncSubscription(@NonNull Subscription subscription, @NonNull Executor executor) {
+    this.subscription = subscription;
+    this.executor = executor;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Nullable
+  @Override
+  public Object getKey() {
+    return this.subscription.getKey();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getPriority() {
+    return this.subscription.getPriority();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean accepts(@NonNull Class<?> type) {
+    return this.subscription.accepts(type);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean accepts(@NonNull Object event) {
+    return this.subscription.accepts(event);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean acceptsCancelled() {
+    return this.subscription.acceptsCancelled();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull Object event) {
+    this.executor.execute(() -> this.subscription.handle(event));
+  }
+}
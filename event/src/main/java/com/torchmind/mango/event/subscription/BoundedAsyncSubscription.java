@@ -0,0 +1,270 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+import com.torchmind.mango.event.error.EventException;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <p>Provides a subscription which evaluates its filter within the publishing thread but handles
+ * accepted events on an executor while retaining at most a fixed amount of pending events.</p>
+ *
+ * <p>Unlike {@link AsyncSubscription}, this subscription passes its events to the executor in
+ * batches: Accepted events are appended to a bounded queue which is drained (in the order of
+ * publication) by at most one task at a time. Once the queue reaches its capacity, the
+ * configured {@link OverflowPolicy} decides whether the publisher waits for the subscription to
+ * catch up or which event is discarded instead.</p>
+ *
+ * <p>Since the publisher does not wait for asynchronous handlers, any changes to the cancellation
+ * state of an event made by such a handler will not be observed by subsequent subscriptions or the
+ * publisher itself.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class BoundedAsyncSubscription implements Subscription {
+
+  private final Subscription subscription;
+  private final Executor executor;
+  private final BlockingQueue<Object> queue;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Consumer<Object> overflowHandler;
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final LongAdder dropCount = new LongAdder();
+  private final LongAdder waitTime = new LongAdder();
+
+  /**
+   * Creates a new bounded subscription.
+   *
+   * @param subscription a subscription which handles the queued events.
+   * @param executor an executor on which the queue is drained.
+   * @param capacity the maximum amount of pending events.
+   * @param overflowPolicy the strategy which is applied once the queue has reached its capacity.
+   * @param overflowHandler a handler which receives overflowing events (required when {@link
+   * OverflowPolicy#CALLBACK} is selected).
+   * @throws IllegalArgumentException when the capacity is zero or negative or when no overflow
+   * handler has been passed for {@link OverflowPolicy#CALLBACK}.
+   */
+  public BoundedAsyncSubscription(@NonNull Subscription subscription, @NonNull Executor executor,
+      int capacity, @NonNull OverflowPolicy overflowPolicy,
+      @Nullable Consumer<Object> overflowHandler) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          "Illegal queue capacity: Expected a positive amount but got " + capacity);
+    }
+
+    if (overflowPolicy == OverflowPolicy.CALLBACK && overflowHandler == null) {
+      throw new IllegalArgumentException(
+          "Illegal overflow policy: CALLBACK requires an overflow handler");
+    }
+
+    this.subscription = subscription;
+    this.executor = executor;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.overflowHandler = overflowHandler;
+  }
+
+  /**
+   * Retrieves the maximum amount of pending events.
+   *
+   * @return a capacity.
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Retrieves the amount of events which have been discarded or passed to the overflow handler
+   * because the queue was at capacity.
+   *
+   * @return an amount of events.
+   */
+  public long getDropCount() {
+    return this.dropCount.sum();
+  }
+
+  /**
+   * Retrieves the strategy which is applied once the queue has reached its capacity.
+   *
+   * @return a policy.
+   */
+  @NonNull
+  public OverflowPolicy getOverflowPolicy() {
+    return this.overflowPolicy;
+  }
+
+  /**
+   * Retrieves the amount of events which are currently waiting to be handled.
+   *
+   * @return an amount of events.
+   */
+  public int getQueueDepth() {
+    return this.queue.size();
+  }
+
+  /**
+   * Retrieves the total amount of time which publishers spent waiting for space within the queue
+   * of this subscription.
+   *
+   * @return an amount of nanoseconds.
+   * @see OverflowPolicy#BLOCK
+   */
+  public long getWaitTime() {
+    return this.waitTime.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Nullable
+  @Override
+  public Object getKey() {
+    return this.subscription.getKey();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getPriority() {
+    return this.subscription.getPriority();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean accepts(@NonNull Class<?> type) {
+    return this.subscription.accepts(type);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean accepts(@NonNull Object event) {
+    return this.subscription.accepts(event);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean acceptsCancelled() {
+    return this.subscription.acceptsCancelled();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws EventException when the publisher is interrupted while waiting for space within the
+   * queue.
+   * @throws java.util.concurrent.RejectedExecutionException when the executor rejects the drain
+   * task (the event remains queued and is handled once a subsequent drain succeeds).
+   */
+  @Override
+  public void handle(@NonNull Object event) {
+    if (!this.queue.offer(event)) {
+      switch (this.overflowPolicy) {
+        case BLOCK:
+          // a previously rejected drain would otherwise leave the publisher waiting indefinitely
+          this.scheduleDrain();
+          long start = System.nanoTime();
+
+          try {
+            this.queue.put(event);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EventException("Interrupted while waiting for queue capacity", ex);
+          } finally {
+            this.waitTime.add(System.nanoTime() - start);
+          }
+          break;
+        case DROP_NEWEST:
+          this.dropCount.increment();
+          return;
+        case DROP_OLDEST:
+          do {
+            if (this.queue.poll() != null) {
+              this.dropCount.increment();
+            }
+          } while (!this.queue.offer(event));
+          break;
+        case CALLBACK:
+          this.dropCount.increment();
+          this.overflowHandler.accept(event);
+          return;
+      }
+    }
+
+    this.scheduleDrain();
+  }
+
+  /**
+   * <p>Passes a drain task to the executor unless a drain is already pending.</p>
+   *
+   * <p>When the executor rejects the task, the pending state is reset in order to permit a
+   * subsequent publication to retry.</p>
+   *
+   * @throws java.util.concurrent.RejectedExecutionException when the executor rejects the task.
+   */
+  private void scheduleDrain() {
+    if (!this.draining.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      this.executor.execute(this::drain);
+    } catch (RuntimeException | Error ex) {
+      this.draining.set(false);
+      throw ex;
+    }
+  }
+
+  /**
+   * <p>Passes all queued events to the wrapped subscription.</p>
+   *
+   * <p>When the wrapped subscription fails, the remaining events are handled within a new task in
+   * order to permit the failure to propagate to the executor.</p>
+   */
+  private void drain() {
+    try {
+      Object event;
+
+      while ((event = this.queue.poll()) != null) {
+        this.subscription.handle(event);
+      }
+    } finally {
+      this.draining.set(false);
+
+      // events which were queued after the final poll would otherwise remain unhandled until the
+      // next publication
+      if (!this.queue.isEmpty()) {
+        this.scheduleDrain();
+      }
+    }
+  }
+}
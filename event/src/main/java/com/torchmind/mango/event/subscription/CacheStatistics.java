@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents an immutable point-in-time view of the queue cache statistics within a subscription
+ * registry.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ * @see SubscriptionRegistry#getStatistics()
+ */
+public final class CacheStatistics {
+
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+  private final long totalRebuildTime;
+  private final int size;
+  private final int maximumSize;
+
+  CacheStatistics(
+      long hitCount,
+      long missCount,
+      long evictionCount,
+      long totalRebuildTime,
+      int size,
+      int maximumSize) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.totalRebuildTime = totalRebuildTime;
+    this.size = size;
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Retrieves the total amount of lookups which were answered by a cached queue.
+   *
+   * @return a number of cache hits.
+   */
+  public long getHitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * Retrieves the total amount of lookups which required a queue to be (re-)computed.
+   *
+   * @return a number of cache misses.
+   */
+  public long getMissCount() {
+    return this.missCount;
+  }
+
+  /**
+   * Retrieves the ratio of lookups which were answered by a cached queue.
+   *
+   * @return a hit rate between 0 and 1 (or 1 if no lookups have been performed yet).
+   */
+  public double getHitRate() {
+    long total = this.hitCount + this.missCount;
+    return total == 0 ? 1 : (double) this.hitCount / total;
+  }
+
+  /**
+   * Retrieves the total amount of queues which have been evicted from the cache (either due to its
+   * size constraints or due to their event type being unloaded).
+   *
+   * @return a number of evictions.
+   */
+  public long getEvictionCount() {
+    return this.evictionCount;
+  }
+
+  /**
+   * Retrieves the total amount of time spent on (re-)computing queues.
+   *
+   * @param unit a unit of time.
+   * @return an amount of time.
+   */
+  public long getTotalRebuildTime(@NonNull TimeUnit unit) {
+    return unit.convert(this.totalRebuildTime, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Retrieves the average amount of time spent on (re-)computing a single queue.
+   *
+   * @return an amount of nanoseconds.
+   */
+  public double getAverageRebuildTime() {
+    return this.missCount == 0 ? 0 : (double) this.totalRebuildTime / this.missCount;
+  }
+
+  /**
+   * Retrieves the amount of event types which are currently cached.
+   *
+   * @return a number of cached queues.
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Retrieves the maximum amount of event types which may be cached at the same time.
+   *
+   * @return a number of cached queues.
+   */
+  public int getMaximumSize() {
+    return this.maximumSize;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "CacheStatistics{"
+        + "hitCount=" + this.hitCount
+        + ", missCount=" + this.missCount
+        + ", evictionCount=" + this.evictionCount
+        + ", totalRebuildTime=" + this.totalRebuildTime
+        + ", size=" + this.size
+        + ", maximumSize=" + this.maximumSize
+        + '}';
+  }
+}
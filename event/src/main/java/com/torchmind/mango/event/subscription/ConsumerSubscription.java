@@ -38,6 +38,16 @@ public class ConsumerSubscription extends AbstractSubscription {
     this.consumer = consumer;
   }
 
+  /**
+   * Retrieves the consumer which is invoked for every accepted event.
+   *
+   * @return a consumer.
+   */
+  @NonNull
+  public Consumer<?> getConsumer() {
+    return this.consumer;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+/**
+ * <p>Defines the strategies which may be used to select cached subscription queues for eviction
+ * once a registry exceeds its maximum cache size.</p>
+ *
+ * <p>Access information is recorded without synchronization and is thus approximate under
+ * contention. This trade-off permits cache hits to remain free of locks and allocations.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum EvictionPolicy {
+
+  /**
+   * Evicts the queues which have not been accessed for the longest amount of time first.
+   */
+  LEAST_RECENTLY_USED,
+
+  /**
+   * <p>Evicts the queues which have been accessed least frequently first.</p>
+   *
+   * <p>Access frequencies are halved with every eviction pass in order to permit formerly popular
+   * event types to age out of the cache.</p>
+   *
+   * <p>In order to keep cache hits free of shared writes, frequencies are sampled and are thus
+   * only approximate for rarely accessed event types.</p>
+   */
+  LEAST_FREQUENTLY_USED
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+import com.torchmind.mango.event.utility.KeyedEvent;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a subscription which exclusively handles {@link KeyedEvent keyed events} which are
+ * addressed to a specific key.</p>
+ *
+ * <p>Subscription queues index keyed subscriptions by their key and thus only consult the
+ * subscriptions for the key of a given event. The key is additionally verified by {@link
+ * #accepts(Object)} in order to retain correct behavior within dispatch modes which do not make use
+ * of this index.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class KeyedSubscription implements Subscription {
+
+  private final Subscription subscription;
+  private final Object key;
+
+  public KeyedSubscription(@NonNull Subscription subscription, @NonNull Object key) {
+    this.subscription = subscription;
+    this.key = key;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Object getKey() {
+    return this.key;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getPriority() {
+    return this.subscription.getPriority();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean accepts(@NonNull Class<?> type) {
+    return KeyedEvent.class.isAssignableFrom(type) && this.subscription.accepts(type);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean accepts(@NonNull Object event) {
+    return event instanceof KeyedEvent && this.key.equals(((KeyedEvent) event).getKey())
+        && this.subscription.accepts(event);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean acceptsCancelled() {
+    return this.subscription.acceptsCancelled();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull Object event) {
+    this.subscription.handle(event);
+  }
+}
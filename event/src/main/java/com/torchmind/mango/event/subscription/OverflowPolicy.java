@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+/**
+ * <p>Defines the strategies which may be used by bounded asynchronous subscriptions once their
+ * queue has reached its capacity.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ * @see BoundedAsyncSubscription
+ */
+public enum OverflowPolicy {
+
+  /**
+   * <p>Blocks the publisher until the subscription has caught up and space becomes available
+   * within its queue.</p>
+   *
+   * <p>Handlers of a blocking subscription must never post events which are accepted by the same
+   * subscription as they may otherwise wait for themselves indefinitely.</p>
+   */
+  BLOCK,
+
+  /**
+   * Discards the event which is being published.
+   */
+  DROP_NEWEST,
+
+  /**
+   * Discards the oldest event within the queue in order to make space for the event which is being
+   * published.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Passes the event which is being published to an overflow handler within the publishing thread
+   * instead of queueing it.
+   */
+  CALLBACK
+}
@@ -37,6 +37,16 @@ public class RunnableSubscription extends AbstractSubscription {
     this.runnable = runnable;
   }
 
+  /**
+   * Retrieves the runnable which is invoked for every accepted event.
+   *
+   * @return a runnable.
+   */
+  @NonNull
+  public Runnable getRunnable() {
+    return this.runnable;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -18,7 +18,9 @@ package com.torchmind.mango.event.subscription;
 
 import com.torchmind.mango.event.error.EventException;
 import com.torchmind.mango.event.subscription.filter.EventFilter;
+import com.torchmind.mango.event.utility.KeyedEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Represents a subscription to an arbitrary set of event types.
@@ -51,6 +53,22 @@ public interface Subscription extends EventFilter {
    */
   int getPriority();
 
+  /**
+   * <p>Retrieves the key of the topic to which this subscription is restricted.</p>
+   *
+   * <p>Keyed subscriptions are exclusively notified about {@link KeyedEvent keyed events} with an
+   * equal key and are indexed by their respective key within subscription queues.</p>
+   *
+   * <p>By default, subscriptions are unkeyed.</p>
+   *
+   * @return a key or null if the subscription is unkeyed.
+   * @see KeyedSubscription
+   */
+  @Nullable
+  default Object getKey() {
+    return null;
+  }
+
   /**
    * <p>Handles an event which the subscription has previously expressed interest in.</p>
    *
@@ -0,0 +1,576 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+import com.torchmind.mango.event.internal.DispatcherFactory;
+import com.torchmind.mango.event.utility.CancelableEvent;
+import com.torchmind.mango.event.utility.KeyedEvent;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <p>Represents an immutable, ordered queue of subscriptions which may intend to be notified about
+ * events of a certain type.</p>
+ *
+ * <p>Queues are cached by their respective {@link SubscriptionRegistry} and are thus shared between
+ * all threads which publish events of the same type. Accessing their elements neither requires
+ * synchronization nor causes any allocations.</p>
+ *
+ * <p>Optionally, queues may compile themselves into a dedicated dispatcher once they have been
+ * used a certain amount of times (see {@link #dispatchCompiled(Object)}). Since the
+ * subscriptions of a queue are immutable, any modification of the subscriptions within a registry
+ * causes affected queues to be replaced and thus re-compiled lazily. Unaffected queues are merely
+ * confirmed for the new registry version and retain their dispatcher.</p>
+ *
+ * <p>Queues additionally record which of their subscriptions accept cancelled events. Once a
+ * {@link CancelableEvent} has been cancelled during dispatch, all remaining subscriptions which
+ * reject cancelled events are skipped without being consulted.</p>
+ *
+ * <p>When a queue contains {@link Subscription#getKey() keyed} subscriptions, these are indexed by
+ * their key. {@link KeyedEvent Keyed events} are thus only passed to the subscriptions for their
+ * respective key as well as all unkeyed subscriptions (where unkeyed subscriptions precede keyed
+ * subscriptions of equal priority). Like the queue itself, its index is never modified once
+ * published.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class SubscriptionQueue {
+
+  /**
+   * Defines the amount of compiled dispatches after which a queue is compiled into a dedicated
+   * dispatcher.
+   */
+  public static final int COMPILATION_THRESHOLD = 64;
+
+  /**
+   * Provides an invoker which passes events to all accepting subscriptions.
+   */
+  private static final Invoker ACCEPTING_INVOKER = (subscription, event) -> {
+    if (subscription.accepts(event)) {
+      subscription.handle(event);
+    }
+  };
+
+  private volatile long version;
+  private final Subscription[] subscriptions;
+  private final List<Subscription> view;
+  private final int[] cancelledSuccessors;
+  private final KeyIndex keyIndex;
+
+  private volatile Consumer<Object> dispatcher;
+  private int invocations;
+
+  SubscriptionQueue(long version, @NonNull Subscription[] subscriptions) {
+    this(version, subscriptions, computeCancelledSuccessors(subscriptions),
+        KeyIndex.create(subscriptions), null);
+  }
+
+  private SubscriptionQueue(
+      long version,
+      @NonNull Subscription[] subscriptions,
+      int[] cancelledSuccessors,
+      KeyIndex keyIndex,
+      Consumer<Object> dispatcher) {
+    this.version = version;
+    this.subscriptions = subscriptions;
+    this.view = Collections.unmodifiableList(Arrays.asList(subscriptions));
+    this.cancelledSuccessors = cancelledSuccessors;
+    this.keyIndex = keyIndex;
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Computes the index of the next subscription which accepts cancelled events for each position
+   * within a queue.
+   *
+   * @param subscriptions an array of subscriptions.
+   * @return an array of indices or null if all subscriptions accept cancelled events.
+   */
+  private static int[] computeCancelledSuccessors(@NonNull Subscription[] subscriptions) {
+    int[] successors = new int[subscriptions.length];
+    int next = subscriptions.length;
+    boolean skips = false;
+
+    for (int i = subscriptions.length - 1; i >= 0; --i) {
+      if (subscriptions[i].acceptsCancelled()) {
+        next = i;
+      } else {
+        skips = true;
+      }
+
+      successors[i] = next;
+    }
+
+    return skips ? successors : null;
+  }
+
+  /**
+   * Passes an event to all subscriptions within this queue (in their intended order of execution)
+   * which accept the event.
+   *
+   * @param event an event.
+   */
+  public void dispatch(@NonNull Object event) {
+    if (this.keyIndex != null) {
+      this.dispatchKeyed(event, ACCEPTING_INVOKER);
+      return;
+    }
+
+    Subscription[] subscriptions = this.subscriptions;
+    int[] cancelledSuccessors = this.cancelledSuccessors;
+
+    if (cancelledSuccessors == null || !(event instanceof CancelableEvent)) {
+      for (Subscription subscription : subscriptions) {
+        if (subscription.accepts(event)) {
+          subscription.handle(event);
+        }
+      }
+
+      return;
+    }
+
+    CancelableEvent cancelableEvent = (CancelableEvent) event;
+
+    for (int i = 0; i < subscriptions.length; ++i) {
+      if (cancelableEvent.isCancelled()) {
+        i = cancelledSuccessors[i];
+
+        if (i == subscriptions.length) {
+          return;
+        }
+      }
+
+      Subscription subscription = subscriptions[i];
+
+      if (subscription.accepts(event)) {
+        subscription.handle(event);
+      }
+    }
+  }
+
+  /**
+   * <p>Passes all subscriptions within this queue which may accept an event to an invoker (in
+   * their intended order of execution).</p>
+   *
+   * <p>Unlike {@link #dispatch(Object)}, this method leaves the evaluation of the subscription
+   * filters and the invocation of the handlers to the invoker. It does, however, consult the key
+   * index of this queue and skip all subscriptions which reject cancelled events once the event
+   * has been cancelled. This permits callers to record metrics for each invocation without
+   * re-implementing the dispatch logic.</p>
+   *
+   * @param event an event.
+   * @param invoker an invoker.
+   */
+  public void dispatch(@NonNull Object event, @NonNull Invoker invoker) {
+    if (this.keyIndex != null) {
+      this.dispatchKeyed(event, invoker);
+      return;
+    }
+
+    Subscription[] subscriptions = this.subscriptions;
+    int[] cancelledSuccessors = this.cancelledSuccessors;
+    CancelableEvent cancelableEvent = cancelledSuccessors != null
+        && event instanceof CancelableEvent ? (CancelableEvent) event : null;
+
+    for (int i = 0; i < subscriptions.length; ++i) {
+      if (cancelableEvent != null && cancelableEvent.isCancelled()) {
+        i = cancelledSuccessors[i];
+
+        if (i == subscriptions.length) {
+          return;
+        }
+      }
+
+      invoker.invoke(subscriptions[i], event);
+    }
+  }
+
+  /**
+   * Passes all unkeyed subscriptions as well as the subscriptions for the key of an event to an
+   * invoker (in their intended order of execution).
+   *
+   * @param event an event.
+   * @param invoker an invoker.
+   */
+  private void dispatchKeyed(@NonNull Object event, @NonNull Invoker invoker) {
+    Subscription[] unkeyed = this.keyIndex.unkeyed;
+    Subscription[] keyed = this.keyIndex.get(event);
+    CancelableEvent cancelableEvent = this.cancelledSuccessors != null
+        && event instanceof CancelableEvent ? (CancelableEvent) event : null;
+
+    int unkeyedPosition = 0;
+    int keyedPosition = 0;
+
+    while (unkeyedPosition < unkeyed.length || keyedPosition < keyed.length) {
+      Subscription subscription;
+
+      // both arrays are sorted by priority and are thus merged in order of execution
+      if (keyedPosition == keyed.length || (unkeyedPosition < unkeyed.length
+          && unkeyed[unkeyedPosition].getPriority() <= keyed[keyedPosition].getPriority())) {
+        subscription = unkeyed[unkeyedPosition++];
+      } else {
+        subscription = keyed[keyedPosition++];
+      }
+
+      if (cancelableEvent != null && !subscription.acceptsCancelled()
+          && cancelableEvent.isCancelled()) {
+        continue;
+      }
+
+      invoker.invoke(subscription, event);
+    }
+  }
+
+  /**
+   * <p>Passes an event to all subscriptions within this queue (in their intended order of
+   * execution) which accept the event using a generated dispatcher.</p>
+   *
+   * <p>The dispatcher is generated once this method has been invoked {@link
+   * #COMPILATION_THRESHOLD} times. Until then (or when the queue exceeds the size limit of
+   * generated dispatchers) this method behaves exactly like {@link #dispatch(Object)}.</p>
+   *
+   * <p>Generated dispatchers neither track cancellation nor make use of the key index. Cancelable
+   * events are thus passed to {@link #dispatch(Object)} instead when any subscription within this
+   * queue rejects cancelled events. Likewise, queues which contain keyed subscriptions are never
+   * compiled.</p>
+   *
+   * @param event an event.
+   */
+  public void dispatchCompiled(@NonNull Object event) {
+    if (this.keyIndex != null
+        || (this.cancelledSuccessors != null && event instanceof CancelableEvent)) {
+      this.dispatch(event);
+      return;
+    }
+
+    Consumer<Object> dispatcher = this.dispatcher;
+
+    if (dispatcher == null) {
+      if (this.invocations++ < COMPILATION_THRESHOLD) {
+        this.dispatch(event);
+        return;
+      }
+
+      dispatcher = this.compile();
+    }
+
+    dispatcher.accept(event);
+  }
+
+  /**
+   * Generates a dedicated dispatcher for this queue unless another thread has done so already.
+   *
+   * @return a dispatcher.
+   */
+  @NonNull
+  private synchronized Consumer<Object> compile() {
+    Consumer<Object> dispatcher = this.dispatcher;
+
+    if (dispatcher == null) {
+      dispatcher = DispatcherFactory.createDispatcher(this.subscriptions);
+
+      if (dispatcher == null) {
+        dispatcher = this::dispatch;
+      }
+
+      this.dispatcher = dispatcher;
+    }
+
+    return dispatcher;
+  }
+
+  /**
+   * <p>Retrieves the version of the most recent registry snapshot for which this queue is known to
+   * be up to date.</p>
+   *
+   * <p>This is initially the version of the snapshot from which the queue has been derived and is
+   * advanced by its registry for every modification which does not affect the queue.</p>
+   *
+   * @return a version.
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Retrieves the subscription at the indicated position within this queue.
+   *
+   * @param index an index.
+   * @return a subscription.
+   * @throws ArrayIndexOutOfBoundsException when the index exceeds the bounds of this queue.
+   */
+  @NonNull
+  public Subscription get(int index) {
+    return this.subscriptions[index];
+  }
+
+  /**
+   * <p>Retrieves the index of the first subscription at or after the indicated position which
+   * accepts cancelled events.</p>
+   *
+   * <p>Dispatch loops may use this method to skip all subscriptions which would reject an event
+   * once it has been cancelled.</p>
+   *
+   * @param index an index.
+   * @return an index or {@link #size()} if no subsequent subscription accepts cancelled events.
+   * @throws ArrayIndexOutOfBoundsException when the index exceeds the bounds of this queue.
+   * @see Subscription#acceptsCancelled()
+   */
+  public int nextAcceptingCancelled(int index) {
+    int[] cancelledSuccessors = this.cancelledSuccessors;
+
+    if (cancelledSuccessors == null) {
+      return index;
+    }
+
+    return cancelledSuccessors[index];
+  }
+
+  /**
+   * Evaluates whether this queue contains no subscriptions.
+   *
+   * @return true if empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.subscriptions.length == 0;
+  }
+
+  /**
+   * Retrieves the total amount of subscriptions within this queue.
+   *
+   * @return a number of subscriptions.
+   */
+  public int size() {
+    return this.subscriptions.length;
+  }
+
+  /**
+   * Retrieves an unmodifiable list view of this queue.
+   *
+   * @return a list of subscriptions (in their intended order of execution).
+   */
+  @NonNull
+  public List<Subscription> toList() {
+    return this.view;
+  }
+
+  /**
+   * Creates a copy of this queue which additionally contains the supplied subscription.
+   *
+   * @param version the version of the new queue.
+   * @param subscription a subscription.
+   * @return a queue.
+   */
+  @NonNull
+  SubscriptionQueue withInserted(long version, @NonNull Subscription subscription) {
+    Subscription[] subscriptions = SubscriptionRegistry.insert(this.subscriptions, subscription);
+    KeyIndex keyIndex = this.keyIndex;
+
+    if (keyIndex != null) {
+      keyIndex = keyIndex.insert(subscription);
+    } else if (subscription.getKey() != null) {
+      keyIndex = KeyIndex.create(subscriptions);
+    }
+
+    return new SubscriptionQueue(version, subscriptions,
+        computeCancelledSuccessors(subscriptions), keyIndex, null);
+  }
+
+  /**
+   * Creates a copy of this queue which no longer contains the supplied subscription.
+   *
+   * @param version the version of the new queue.
+   * @param subscription a subscription.
+   * @return a queue.
+   */
+  @NonNull
+  SubscriptionQueue withRemoved(long version, @NonNull Subscription subscription) {
+    Subscription[] subscriptions = SubscriptionRegistry.remove(this.subscriptions, subscription);
+    KeyIndex keyIndex = this.keyIndex;
+
+    if (keyIndex != null) {
+      keyIndex = keyIndex.remove(subscription);
+    }
+
+    return new SubscriptionQueue(version, subscriptions,
+        computeCancelledSuccessors(subscriptions), keyIndex, null);
+  }
+
+  /**
+   * <p>Confirms that this queue remains up to date within a newer registry snapshot.</p>
+   *
+   * <p>This method must only be invoked by the owning registry while holding its lock.</p>
+   *
+   * @param version a version.
+   */
+  void confirm(long version) {
+    this.version = version;
+  }
+
+  /**
+   * Receives the subscriptions which may accept an event during a {@link #dispatch(Object,
+   * Invoker) delegated dispatch}.
+   */
+  @FunctionalInterface
+  public interface Invoker {
+
+    /**
+     * Evaluates whether a subscription accepts an event and passes the event to it if so.
+     *
+     * @param subscription a subscription.
+     * @param event an event.
+     */
+    void invoke(@NonNull Subscription subscription, @NonNull Object event);
+  }
+
+  /**
+   * <p>Indexes the subscriptions within a queue by their respective key.</p>
+   *
+   * <p>The subscriptions of each key are kept within an immutable array. When a subscription for
+   * a key is registered or removed, the map of keys is copied and only the array of the affected
+   * key is replaced within the copy while all remaining arrays are shared with the original
+   * index.</p>
+   */
+  private static final class KeyIndex {
+
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private final Subscription[] unkeyed;
+    private final Map<Object, Subscription[]> keyed;
+
+    private KeyIndex(@NonNull Subscription[] unkeyed,
+        @NonNull Map<Object, Subscription[]> keyed) {
+      this.unkeyed = unkeyed;
+      this.keyed = keyed;
+    }
+
+    /**
+     * Creates an index for the passed subscriptions.
+     *
+     * @param subscriptions a sorted array of subscriptions.
+     * @return an index or null if none of the subscriptions is keyed.
+     */
+    @Nullable
+    static KeyIndex create(@NonNull Subscription[] subscriptions) {
+      Map<Object, Subscription[]> keyed = new HashMap<>();
+      Subscription[] unkeyed = new Subscription[subscriptions.length];
+      int unkeyedCount = 0;
+
+      for (Subscription subscription : subscriptions) {
+        Object key = subscription.getKey();
+
+        if (key == null) {
+          unkeyed[unkeyedCount++] = subscription;
+        } else {
+          keyed.merge(key, new Subscription[]{subscription}, KeyIndex::append);
+        }
+      }
+
+      if (keyed.isEmpty()) {
+        return null;
+      }
+
+      return new KeyIndex(Arrays.copyOf(unkeyed, unkeyedCount), keyed);
+    }
+
+    /**
+     * Appends a single subscription to a sorted array of subscriptions.
+     *
+     * @param subscriptions a sorted array of subscriptions.
+     * @param subscription a single element array which contains the subscription.
+     * @return a sorted array of subscriptions.
+     */
+    @NonNull
+    private static Subscription[] append(@NonNull Subscription[] subscriptions,
+        @NonNull Subscription[] subscription) {
+      Subscription[] result = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+      result[subscriptions.length] = subscription[0];
+      return result;
+    }
+
+    /**
+     * Retrieves the keyed subscriptions which may accept a given event.
+     *
+     * @param event an event.
+     * @return an array of subscriptions (in their intended order of execution).
+     */
+    @NonNull
+    Subscription[] get(@NonNull Object event) {
+      if (!(event instanceof KeyedEvent)) {
+        return EMPTY;
+      }
+
+      Object key = ((KeyedEvent) event).getKey();
+
+      if (key == null) {
+        return EMPTY;
+      }
+
+      Subscription[] subscriptions = this.keyed.get(key);
+      return subscriptions != null ? subscriptions : EMPTY;
+    }
+
+    /**
+     * Derives an index which additionally contains the supplied subscription.
+     *
+     * @param subscription a subscription.
+     * @return an index.
+     */
+    @NonNull
+    KeyIndex insert(@NonNull Subscription subscription) {
+      Object key = subscription.getKey();
+
+      if (key == null) {
+        return new KeyIndex(SubscriptionRegistry.insert(this.unkeyed, subscription), this.keyed);
+      }
+
+      Map<Object, Subscription[]> keyed = new HashMap<>(this.keyed);
+      keyed.merge(key, new Subscription[]{subscription},
+          (subscriptions, s) -> SubscriptionRegistry.insert(subscriptions, subscription));
+      return new KeyIndex(this.unkeyed, keyed);
+    }
+
+    /**
+     * Derives an index which no longer contains the supplied subscription.
+     *
+     * @param subscription a subscription.
+     * @return an index or null if the index no longer contains any keyed subscriptions.
+     */
+    @Nullable
+    KeyIndex remove(@NonNull Subscription subscription) {
+      Object key = subscription.getKey();
+
+      if (key == null) {
+        return new KeyIndex(SubscriptionRegistry.remove(this.unkeyed, subscription), this.keyed);
+      }
+
+      Map<Object, Subscription[]> keyed = new HashMap<>(this.keyed);
+      keyed.computeIfPresent(key, (k, subscriptions) -> {
+        Subscription[] result = SubscriptionRegistry.remove(subscriptions, subscription);
+        return result.length != 0 ? result : null;
+      });
+
+      return keyed.isEmpty() ? null : new KeyIndex(this.unkeyed, keyed);
+    }
+  }
+}
@@ -16,54 +16,134 @@
  */
 package com.torchmind.mango.event.subscription;
 
+import com.torchmind.mango.concurrency.lock.FunctionalLock;
+import com.torchmind.mango.event.internal.FlightRecording;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.util.Collections;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
- * Provides a registry which maps event types to their respective subscriptions and caches
- * subscription queues.
+ * <p>Provides a registry which maps event types to their respective subscriptions and caches
+ * subscription queues.</p>
+ *
+ * <p>All modifications are serialized internally and result in a new immutable {@link Snapshot}
+ * being published. Lookups never acquire a lock and may thus be performed from any thread at any
+ * time.</p>
+ *
+ * <p>The amount of cached queues is limited to a configurable maximum. Once this limit is exceeded,
+ * queues are evicted in batches according to the configured {@link EvictionPolicy}.</p>
+ *
+ * <p>Cached queues are kept within a table which is owned by the registry and references its event
+ * types weakly. Cached queues thus never prevent the unloading of classes while event types never
+ * keep the registry (or any of its subscriptions) reachable.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public class SubscriptionRegistry {
 
-  private final Set<Subscription> subscriptions = new HashSet<>();
-  // TODO: This should probably be replaced with a real caching solution to prevent excessive memory usage
-  private final Map<Class<?>, List<Subscription>> queueCache = new HashMap<>();
+  /**
+   * Defines the amount of event types for which queues are cached by default.
+   */
+  public static final int DEFAULT_MAXIMUM_CACHE_SIZE = 1024;
+
+  private static final int MINIMUM_SLOT_CAPACITY = 16;
+
+  /**
+   * Defines the fraction of cache hits (as a power of two) which update the access frequency of
+   * their slot.
+   */
+  private static final int FREQUENCY_SAMPLE_RATE = 16;
+
+  private final int maximumCacheSize;
+  private final EvictionPolicy evictionPolicy;
+
+  private final FunctionalLock lock = FunctionalLock.wrap(new ReentrantLock());
+  private final FunctionalLock evictionLock = FunctionalLock.wrap(new ReentrantLock());
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final Set<Slot> populatedSlots = ConcurrentHashMap.newKeySet();
+  private final FunctionalLock slotLock = FunctionalLock.wrap(new ReentrantLock());
+  private volatile Slot[] slots = new Slot[MINIMUM_SLOT_CAPACITY];
+  private int slotCount;
+  private volatile Snapshot snapshot = new Snapshot(0, new Subscription[0]);
+
+  private final AtomicInteger clock = new AtomicInteger();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private final LongAdder rebuildTime = new LongAdder();
+
+  public SubscriptionRegistry() {
+    this(DEFAULT_MAXIMUM_CACHE_SIZE, EvictionPolicy.LEAST_RECENTLY_USED);
+  }
+
+  /**
+   * Creates a new registry with a custom cache configuration.
+   *
+   * @param maximumCacheSize the maximum amount of event types for which queues are cached.
+   * @param evictionPolicy a policy which selects the queues to evict.
+   * @throws IllegalArgumentException when the maximum cache size is zero or negative.
+   */
+  public SubscriptionRegistry(int maximumCacheSize, @NonNull EvictionPolicy evictionPolicy) {
+    if (maximumCacheSize <= 0) {
+      throw new IllegalArgumentException(
+          "Illegal cache size: Expected a positive value but got " + maximumCacheSize);
+    }
+
+    this.maximumCacheSize = maximumCacheSize;
+    this.evictionPolicy = evictionPolicy;
+  }
 
   /**
    * <p>Registers a new subscription with this registry.</p>
    *
-   * <p>When the subscription is new to this registry, this call will automatically invalidate any
-   * caches for event types which are generally accepted by the new subscription.</p>
+   * <p>When the subscription is new to this registry, this call will automatically insert it into
+   * all cached queues for event types which are generally accepted by the new subscription.</p>
    *
    * @param subscription a subscription.
    */
   public void register(@NonNull Subscription subscription) {
-    if (this.subscriptions.add(subscription)) {
-      this.invalidateCache(subscription);
-    }
+    this.lock.runProtected(() -> {
+      if (!this.subscriptions.add(subscription)) {
+        return;
+      }
+
+      Snapshot snapshot = this.snapshot;
+      this.publish(snapshot, insert(snapshot.subscriptions, subscription), subscription::accepts,
+          (queue, version) -> queue.withInserted(version, subscription));
+    });
   }
 
   /**
    * <p>Removes a subscription from this registry.</p>
    *
    * <p>When the subscription is currently present within this registry, the call will automatically
-   * invalidate any caches for event types which are generally accepted by the subscription.</p>
+   * remove it from all cached queues for event types which are generally accepted by the
+   * subscription.</p>
    *
    * @param subscription a subscription.
    */
   public void unregister(@NonNull Subscription subscription) {
-    if (this.subscriptions.remove(subscription)) {
-      this.invalidateCache(subscription);
-    }
+    this.lock.runProtected(() -> {
+      if (!this.subscriptions.remove(subscription)) {
+        return;
+      }
+
+      Snapshot snapshot = this.snapshot;
+      this.publish(snapshot, remove(snapshot.subscriptions, subscription), subscription::accepts,
+          (queue, version) -> queue.withRemoved(version, subscription));
+    });
   }
 
   /**
@@ -77,31 +157,66 @@ public class SubscriptionRegistry {
   }
 
   /**
-   * Retrieves a list of subscriptions which may intend to be notified about events of the indicated
-   * type.
+   * Retrieves the maximum amount of event types for which queues are cached by this registry.
    *
-   * @param eventType an event type.
-   * @return a list of subscriptions (in their intended order of execution).
+   * @return a number of event types.
+   */
+  public int getMaximumCacheSize() {
+    return this.maximumCacheSize;
+  }
+
+  /**
+   * Retrieves the policy which selects the queues to evict from the cache.
+   *
+   * @return an eviction policy.
    */
   @NonNull
-  public List<Subscription> getSubscriptions(@NonNull Class<?> eventType) {
-    return Collections
-        .unmodifiableList(this.queueCache.computeIfAbsent(eventType, this::computeCache));
+  public EvictionPolicy getEvictionPolicy() {
+    return this.evictionPolicy;
   }
 
   /**
-   * Computes the matching subscriptions for a given event type and their respective order of
-   * execution.
+   * Retrieves a point-in-time view of the queue cache statistics within this registry.
+   *
+   * @return a set of statistics.
+   */
+  @NonNull
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(
+        this.hitCount.sum(),
+        this.missCount.sum(),
+        this.evictionCount.sum(),
+        this.rebuildTime.sum(),
+        this.populatedSlots.size(),
+        this.maximumCacheSize
+    );
+  }
+
+  /**
+   * <p>Retrieves the most recently published snapshot of this registry.</p>
+   *
+   * <p>Snapshots are immutable and thus consistent views of the registry state at the time of
+   * their publication. Callers which perform multiple lookups should retrieve a snapshot once and
+   * perform all lookups against it.</p>
+   *
+   * @return a snapshot.
+   */
+  @NonNull
+  public Snapshot getSnapshot() {
+    return this.snapshot;
+  }
+
+  /**
+   * Retrieves a list of subscriptions which may intend to be notified about events of the indicated
+   * type.
    *
    * @param eventType an event type.
-   * @return a list of subscriptions.
+   * @return a list of subscriptions (in their intended order of execution).
+   * @see Snapshot#getQueue(Class)
    */
   @NonNull
-  private List<Subscription> computeCache(@NonNull Class<?> eventType) {
-    return this.subscriptions.stream()
-        .filter((subscription) -> subscription.accepts(eventType))
-        .sorted(Comparator.comparingInt(Subscription::getPriority))
-        .collect(Collectors.toList());
+  public List<Subscription> getSubscriptions(@NonNull Class<?> eventType) {
+    return this.snapshot.getQueue(eventType).toList();
   }
 
   /**
@@ -112,7 +227,10 @@ public class SubscriptionRegistry {
    * as much as possible to prevent unnecessary load.</p>
    */
   public void invalidateCache() {
-    this.queueCache.clear();
+    this.lock.runProtected(() -> {
+      Snapshot snapshot = this.snapshot;
+      this.publish(snapshot, snapshot.subscriptions, (type) -> true, null);
+    });
   }
 
   /**
@@ -124,7 +242,10 @@ public class SubscriptionRegistry {
    * @param eventType an event type.
    */
   public void invalidateCache(@NonNull Class<?> eventType) {
-    this.queueCache.remove(eventType);
+    this.lock.runProtected(() -> {
+      Snapshot snapshot = this.snapshot;
+      this.publish(snapshot, snapshot.subscriptions, eventType::equals, null);
+    });
   }
 
   /**
@@ -134,6 +255,568 @@ public class SubscriptionRegistry {
    * @param subscription a subscription.
    */
   public void invalidateCache(@NonNull Subscription subscription) {
-    this.queueCache.keySet().removeIf(subscription::accepts);
+    this.lock.runProtected(() -> {
+      Snapshot snapshot = this.snapshot;
+      this.publish(snapshot, snapshot.subscriptions, subscription::accepts, null);
+    });
+  }
+
+  /**
+   * <p>Publishes a new snapshot which replaces the current registry state.</p>
+   *
+   * <p>Cached queues of the previous snapshot are confirmed for the new version (without being
+   * copied) unless they are affected by the modification. Affected queues are patched using the
+   * supplied function when present. Otherwise, they are left in place and will be re-computed upon
+   * their next lookup.</p>
+   *
+   * <p>Queues which are installed by concurrent lookups after their slot has been visited are
+   * derived from an older snapshot. Since they are neither confirmed nor patched, their version
+   * will not match the new snapshot and they will be re-computed upon their next lookup.</p>
+   *
+   * <p>This method must only be invoked while holding the registry lock.</p>
+   *
+   * @param previous the previously published snapshot.
+   * @param subscriptions a sorted array of subscriptions.
+   * @param affected a predicate which selects the event types affected by the modification.
+   * @param patch a function which applies the modification to a queue or null to invalidate
+   * affected queues instead.
+   */
+  private void publish(
+      @NonNull Snapshot previous,
+      @NonNull Subscription[] subscriptions,
+      @NonNull Predicate<Class<?>> affected,
+      @Nullable Patch patch) {
+    long version = previous.version + 1;
+
+    this.populatedSlots.removeIf((slot) -> {
+      Class<?> type = slot.type.get();
+
+      if (type == null) {
+        Slot.QUEUE.set(slot, null);
+        this.evictionCount.increment();
+        return true;
+      }
+
+      SubscriptionQueue queue = slot.queue;
+
+      if (queue == null || queue.getVersion() != previous.version) {
+        return false;
+      }
+
+      if (!affected.test(type)) {
+        queue.confirm(version);
+      } else if (patch != null) {
+        Slot.QUEUE.compareAndSet(slot, queue, patch.apply(queue, version));
+      }
+
+      return false;
+    });
+
+    this.snapshot = new Snapshot(version, subscriptions);
+  }
+
+  /**
+   * <p>Creates a copy of a sorted subscription array which additionally contains the supplied
+   * subscription.</p>
+   *
+   * <p>The subscription is placed behind all existing subscriptions of equal priority in order to
+   * preserve the order of registration.</p>
+   *
+   * @param subscriptions a sorted array of subscriptions.
+   * @param subscription a subscription.
+   * @return a sorted array of subscriptions.
+   */
+  @NonNull
+  static Subscription[] insert(
+      @NonNull Subscription[] subscriptions,
+      @NonNull Subscription subscription) {
+    int priority = subscription.getPriority();
+    int low = 0;
+    int high = subscriptions.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (subscriptions[middle].getPriority() <= priority) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    Subscription[] result = new Subscription[subscriptions.length + 1];
+    System.arraycopy(subscriptions, 0, result, 0, low);
+    result[low] = subscription;
+    System.arraycopy(subscriptions, low, result, low + 1, subscriptions.length - low);
+    return result;
+  }
+
+  /**
+   * <p>Creates a copy of a sorted subscription array which no longer contains the supplied
+   * subscription.</p>
+   *
+   * <p>The subscription is located by binary searching its priority and subsequently comparing all
+   * subscriptions of equal priority by identity (or equality if no identical subscription is
+   * present).</p>
+   *
+   * @param subscriptions a sorted array of subscriptions.
+   * @param subscription a subscription.
+   * @return a sorted array of subscriptions.
+   */
+  @NonNull
+  static Subscription[] remove(
+      @NonNull Subscription[] subscriptions,
+      @NonNull Subscription subscription) {
+    int priority = subscription.getPriority();
+    int low = 0;
+    int high = subscriptions.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (subscriptions[middle].getPriority() < priority) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    int index = -1;
+
+    for (int i = low; i < subscriptions.length && subscriptions[i].getPriority() == priority; ++i) {
+      if (subscriptions[i] == subscription) {
+        index = i;
+        break;
+      }
+    }
+
+    if (index == -1) {
+      for (int i = 0; i < subscriptions.length; ++i) {
+        if (subscriptions[i].equals(subscription)) {
+          index = i;
+          break;
+        }
+      }
+    }
+
+    if (index == -1) {
+      return subscriptions;
+    }
+
+    Subscription[] result = new Subscription[subscriptions.length - 1];
+    System.arraycopy(subscriptions, 0, result, 0, index);
+    System.arraycopy(subscriptions, index + 1, result, index, result.length - index);
+    return result;
+  }
+
+  /**
+   * <p>Retrieves the slot for a given event type.</p>
+   *
+   * <p>Slots are located within an open addressing table (using linear probing) without acquiring
+   * any locks. Missing slots are created while holding the slot lock.</p>
+   *
+   * @param type an event type.
+   * @return a slot.
+   */
+  @NonNull
+  private Slot getSlot(@NonNull Class<?> type) {
+    Slot[] slots = this.slots;
+    int mask = slots.length - 1;
+
+    // the table always retains at least half of its cells empty and thus terminates all probes
+    for (int i = System.identityHashCode(type) & mask; ; i = (i + 1) & mask) {
+      Slot slot = slots[i];
+
+      if (slot == null) {
+        return this.slotLock.runProtected(() -> this.createSlot(type));
+      }
+
+      if (slot.type.get() == type) {
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * <p>Creates the slot for a given event type (unless it has been created concurrently).</p>
+   *
+   * <p>Slots are inserted into the current table in place and only become visible to other
+   * threads once the table is re-published. When the table exceeds its maximum load, it is
+   * replaced by a table which only contains the slots of loaded types.</p>
+   *
+   * <p>This method must only be invoked while holding the slot lock.</p>
+   *
+   * @param type an event type.
+   * @return a slot.
+   */
+  @NonNull
+  private Slot createSlot(@NonNull Class<?> type) {
+    Slot[] slots = this.slots;
+    int hash = System.identityHashCode(type);
+    int mask = slots.length - 1;
+
+    for (int i = hash & mask; slots[i] != null; i = (i + 1) & mask) {
+      if (slots[i].type.get() == type) {
+        return slots[i];
+      }
+    }
+
+    if ((this.slotCount + 1) * 2 > slots.length) {
+      slots = this.rebuildSlots(slots);
+    }
+
+    Slot slot = new Slot(type, hash);
+    insertSlot(slots, slot);
+    ++this.slotCount;
+
+    this.slots = slots;
+    return slot;
+  }
+
+  /**
+   * <p>Creates a new slot table which contains all slots of loaded types within the passed
+   * table.</p>
+   *
+   * <p>Slots of unloaded types are discarded along with their queues.</p>
+   *
+   * @param slots a slot table.
+   * @return a slot table.
+   */
+  @NonNull
+  private Slot[] rebuildSlots(@NonNull Slot[] slots) {
+    int count = 0;
+
+    for (Slot slot : slots) {
+      if (slot != null && slot.type.get() != null) {
+        ++count;
+      }
+    }
+
+    int capacity = MINIMUM_SLOT_CAPACITY;
+    while (capacity < (count + 1) * 4) {
+      capacity <<= 1;
+    }
+
+    Slot[] rebuilt = new Slot[capacity];
+
+    for (Slot slot : slots) {
+      if (slot == null) {
+        continue;
+      }
+
+      if (slot.type.get() != null) {
+        insertSlot(rebuilt, slot);
+        continue;
+      }
+
+      if (this.populatedSlots.remove(slot)) {
+        this.evictionCount.increment();
+      }
+
+      Slot.QUEUE.set(slot, null);
+    }
+
+    this.slotCount = count;
+    return rebuilt;
+  }
+
+  /**
+   * Inserts a slot into the first free cell of its probe sequence.
+   *
+   * @param slots a slot table.
+   * @param slot a slot.
+   */
+  private static void insertSlot(@NonNull Slot[] slots, @NonNull Slot slot) {
+    int mask = slots.length - 1;
+    int i = slot.hash & mask;
+
+    while (slots[i] != null) {
+      i = (i + 1) & mask;
+    }
+
+    slots[i] = slot;
+  }
+
+  /**
+   * <p>Records a cache hit for the indicated slot.</p>
+   *
+   * <p>Frequencies are sampled in order to keep writes to the (shared) slot off the hit path: Only
+   * one in {@link #FREQUENCY_SAMPLE_RATE} hits (as decided by a thread local random number) adds
+   * the sample rate to the frequency of the slot. Frequencies thus remain accurate in expectation
+   * while popular slots are written to rarely.</p>
+   *
+   * @param slot a slot.
+   */
+  private void recordHit(@NonNull Slot slot) {
+    this.hitCount.increment();
+
+    if (this.evictionPolicy == EvictionPolicy.LEAST_RECENTLY_USED) {
+      int now = this.clock.get();
+
+      if (slot.recency != now) {
+        slot.recency = now;
+      }
+    } else if ((ThreadLocalRandom.current().nextInt() & (FREQUENCY_SAMPLE_RATE - 1)) == 0) {
+      int frequency = slot.frequency;
+      slot.frequency = frequency < Integer.MAX_VALUE - FREQUENCY_SAMPLE_RATE
+          ? frequency + FREQUENCY_SAMPLE_RATE : Integer.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Computes and installs the queue for a given event type after a cache miss.
+   *
+   * @param slot the slot associated with the event type.
+   * @param snapshot the snapshot from which the queue shall be derived.
+   * @param eventType an event type.
+   * @return a queue.
+   */
+  @NonNull
+  private SubscriptionQueue load(
+      @NonNull Slot slot,
+      @NonNull Snapshot snapshot,
+      @NonNull Class<?> eventType) {
+    this.missCount.increment();
+
+    Object recording = FlightRecording.beginCacheRebuild();
+    long start = System.nanoTime();
+    SubscriptionQueue queue = snapshot.computeQueue(eventType);
+    this.rebuildTime.add(System.nanoTime() - start);
+    FlightRecording.commitCacheRebuild(recording, eventType, snapshot.subscriptions.length,
+        queue.size());
+
+    slot.recency = this.clock.incrementAndGet();
+    if (slot.frequency != Integer.MAX_VALUE) {
+      ++slot.frequency;
+    }
+
+    queue = slot.install(queue, this.populatedSlots);
+
+    if (this.populatedSlots.size() > this.maximumCacheSize) {
+      this.evictionLock.tryRunProtected(this::evict);
+    }
+
+    return queue;
+  }
+
+  /**
+   * <p>Evicts a batch of queues from the cache.</p>
+   *
+   * <p>In order to amortize the cost of selecting victims, a single pass will shrink the cache to
+   * roughly 90% of its maximum size. Slots of unloaded event types are always evicted first.</p>
+   */
+  private void evict() {
+    int size = this.populatedSlots.size();
+
+    if (size <= this.maximumCacheSize) {
+      return;
+    }
+
+    // access information may change while victims are selected and is thus captured ahead of time
+    int now = this.clock.get();
+    Slot[] candidates = this.populatedSlots.toArray(new Slot[0]);
+    long[] ranks = new long[candidates.length];
+
+    for (int i = 0; i < candidates.length; ++i) {
+      ranks[i] = this.rank(candidates[i], now);
+    }
+
+    int[] order = IntStream.range(0, candidates.length)
+        .boxed()
+        .sorted(Comparator.comparingLong((i) -> ranks[i]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+
+    int target = this.maximumCacheSize - this.maximumCacheSize / 10;
+    int victims = Math.max(0, candidates.length - target);
+
+    for (int i = 0; i < order.length; ++i) {
+      Slot slot = candidates[order[i]];
+
+      if (i < victims) {
+        this.populatedSlots.remove(slot);
+        Slot.QUEUE.set(slot, null);
+        slot.frequency = 0;
+        this.evictionCount.increment();
+      } else if (this.evictionPolicy == EvictionPolicy.LEAST_FREQUENTLY_USED) {
+        slot.frequency >>>= 1;
+      }
+    }
+  }
+
+  /**
+   * <p>Computes the eviction rank of a given slot where slots with a lower rank are evicted
+   * first.</p>
+   *
+   * <p>Slots of unloaded types are always ranked lowest. When multiple slots share the same access
+   * frequency, the least recently used slot is ranked lower in order to protect newly cached
+   * queues.</p>
+   *
+   * @param slot a slot.
+   * @param now the current clock value.
+   * @return a rank.
+   */
+  private long rank(@NonNull Slot slot, int now) {
+    if (slot.type.get() == null) {
+      return Long.MIN_VALUE;
+    }
+
+    long age = slot.recency - now;
+
+    if (this.evictionPolicy == EvictionPolicy.LEAST_RECENTLY_USED) {
+      return age;
+    }
+
+    return ((long) slot.frequency << 32) + age;
+  }
+
+  /**
+   * Applies a modification of the registry to an affected queue.
+   */
+  @FunctionalInterface
+  private interface Patch {
+
+    /**
+     * Derives a patched copy of a queue.
+     *
+     * @param queue a queue.
+     * @param version the version of the patched queue.
+     * @return a queue.
+     */
+    @NonNull
+    SubscriptionQueue apply(@NonNull SubscriptionQueue queue, long version);
+  }
+
+  /**
+   * <p>Represents an immutable, versioned view of the registered subscriptions.</p>
+   *
+   * <p>Snapshots are safe for concurrent use: The backing subscription array is never modified
+   * after its publication while queues are derived from said array on demand.</p>
+   */
+  public final class Snapshot {
+
+    private final long version;
+    private final Subscription[] subscriptions;
+
+    private Snapshot(long version, @NonNull Subscription[] subscriptions) {
+      this.version = version;
+      this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Retrieves the version of this snapshot which is incremented with every modification of its
+     * parent registry.
+     *
+     * @return a version.
+     */
+    public long getVersion() {
+      return this.version;
+    }
+
+    /**
+     * <p>Retrieves the queue of subscriptions which may intend to be notified about events of the
+     * indicated type.</p>
+     *
+     * <p>Queues are cached per event type and shared between all threads. When a matching queue
+     * has already been computed for this snapshot, this method will neither lock nor
+     * allocate.</p>
+     *
+     * @param eventType an event type.
+     * @return a queue of subscriptions.
+     */
+    @NonNull
+    public SubscriptionQueue getQueue(@NonNull Class<?> eventType) {
+      Slot slot = SubscriptionRegistry.this.getSlot(eventType);
+      SubscriptionQueue queue = slot.queue;
+
+      if (queue != null && queue.getVersion() == this.version) {
+        SubscriptionRegistry.this.recordHit(slot);
+        return queue;
+      }
+
+      return SubscriptionRegistry.this.load(slot, this, eventType);
+    }
+
+    /**
+     * Retrieves a list of subscriptions which may intend to be notified about events of the
+     * indicated type.
+     *
+     * @param eventType an event type.
+     * @return an unmodifiable list of subscriptions (in their intended order of execution).
+     * @see #getQueue(Class)
+     */
+    @NonNull
+    public List<Subscription> getSubscriptions(@NonNull Class<?> eventType) {
+      return this.getQueue(eventType).toList();
+    }
+
+    /**
+     * Computes the matching subscriptions for a given event type and their respective order of
+     * execution.
+     *
+     * @param eventType an event type.
+     * @return a queue of subscriptions.
+     */
+    @NonNull
+    private SubscriptionQueue computeQueue(@NonNull Class<?> eventType) {
+      return new SubscriptionQueue(this.version, Arrays.stream(this.subscriptions)
+          .filter((subscription) -> subscription.accepts(eventType))
+          .toArray(Subscription[]::new));
+    }
+  }
+
+  /**
+   * <p>Stores the most recently computed queue for a given event type.</p>
+   *
+   * <p>Slots reference their respective event type weakly and thus do not prevent the type (or its
+   * class loader) from being unloaded. The identity hash of the type is retained in order to
+   * re-insert slots when their table is rebuilt.</p>
+   *
+   * <p>Access information is updated without synchronization as lost updates merely affect the
+   * accuracy of the eviction policy.</p>
+   */
+  private static final class Slot {
+
+    private static final AtomicReferenceFieldUpdater<Slot, SubscriptionQueue> QUEUE =
+        AtomicReferenceFieldUpdater.newUpdater(Slot.class, SubscriptionQueue.class, "queue");
+
+    private final WeakReference<Class<?>> type;
+    private final int hash;
+    private volatile SubscriptionQueue queue;
+    private int recency;
+    private int frequency;
+
+    private Slot(@NonNull Class<?> type, int hash) {
+      this.type = new WeakReference<>(type);
+      this.hash = hash;
+    }
+
+    /**
+     * <p>Installs a newly computed queue within this slot.</p>
+     *
+     * <p>Queues are only replaced by queues of a newer version. When a queue of the same or a newer
+     * version is already present, the supplied queue is returned without being installed.</p>
+     *
+     * @param queue a queue.
+     * @param populatedSlots the set of populated slots within the owning registry.
+     * @return the queue which shall be used by the caller.
+     */
+    @NonNull
+    private SubscriptionQueue install(
+        @NonNull SubscriptionQueue queue,
+        @NonNull Set<Slot> populatedSlots) {
+      for (; ; ) {
+        SubscriptionQueue current = this.queue;
+
+        if (current != null && current.getVersion() >= queue.getVersion()) {
+          return current.getVersion() == queue.getVersion() ? current : queue;
+        }
+
+        if (QUEUE.compareAndSet(this, current, queue)) {
+          populatedSlots.add(this);
+          return queue;
+        }
+      }
+    }
   }
 }
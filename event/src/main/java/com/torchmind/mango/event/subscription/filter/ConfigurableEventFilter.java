@@ -16,30 +16,52 @@
  */
 package com.torchmind.mango.event.subscription.filter;
 
+import com.torchmind.mango.event.error.EventException;
+import com.torchmind.mango.event.internal.ConditionCompiler;
+import com.torchmind.mango.event.internal.TypeIndex;
 import com.torchmind.mango.event.utility.CancelableEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.invoke.MethodHandle;
 import java.util.Set;
 
 /**
- * Provides an event filter implementation which is exclusively used when dynamically creating
- * filters using the builder API.
+ * <p>Provides an event filter implementation which is exclusively used when dynamically creating
+ * filters using the builder API.</p>
+ *
+ * <p>Accepted types are interned as a bitset of dense type identifiers (see {@link TypeIndex}) upon
+ * construction. Type checks are thus reduced to the intersection of this bitset with the ancestor
+ * closure of the checked type.</p>
+ *
+ * <p>Conditions are compiled into a method handle (see {@link ConditionCompiler}) and are evaluated
+ * within {@link #accepts(Object)} before the event is passed to its subscription.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 class ConfigurableEventFilter implements EventFilter {
 
-  private Set<Class<?>> eventTypes;
+  private final TypeIndex.Mask eventTypes;
 
   private boolean acceptingCancelled;
   private boolean acceptingHeirs;
+  private final MethodHandle condition;
 
   public ConfigurableEventFilter(
       @NonNull Set<Class<?>> eventTypes,
       boolean acceptingCancelled,
       boolean acceptingHeirs) {
-    this.eventTypes = eventTypes;
+    this(eventTypes, acceptingCancelled, acceptingHeirs, null);
+  }
+
+  public ConfigurableEventFilter(
+      @NonNull Set<Class<?>> eventTypes,
+      boolean acceptingCancelled,
+      boolean acceptingHeirs,
+      @Nullable MethodHandle condition) {
+    this.eventTypes = TypeIndex.createMask(eventTypes);
     this.acceptingCancelled = acceptingCancelled;
     this.acceptingHeirs = acceptingHeirs;
+    this.condition = condition;
   }
 
   /**
@@ -48,10 +70,18 @@ class ConfigurableEventFilter implements EventFilter {
   @Override
   public boolean accepts(@NonNull Class<?> type) {
     if (!this.acceptingHeirs) {
-      return this.eventTypes.contains(type);
+      return this.eventTypes.contains(TypeIndex.getId(type));
     }
 
-    return this.eventTypes.stream().anyMatch((clazz) -> clazz.isAssignableFrom(type));
+    return this.eventTypes.intersects(TypeIndex.getClosure(type));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean acceptsCancelled() {
+    return this.acceptingCancelled;
   }
 
   /**
@@ -59,7 +89,19 @@ class ConfigurableEventFilter implements EventFilter {
    */
   @Override
   public boolean accepts(@NonNull Object event) {
-    return !(event instanceof CancelableEvent) || this.acceptingCancelled
-        || !((CancelableEvent) event).isCancelled();
+    if (event instanceof CancelableEvent && !this.acceptingCancelled
+        && ((CancelableEvent) event).isCancelled()) {
+      return false;
+    }
+
+    if (this.condition == null) {
+      return true;
+    }
+
+    try {
+      return (boolean) this.condition.invokeExact(event);
+    } catch (Throwable ex) {
+      throw new EventException("Failed to evaluate condition for event: " + event, ex);
+    }
   }
 }
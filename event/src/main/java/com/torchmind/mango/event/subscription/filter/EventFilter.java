@@ -16,8 +16,11 @@
  */
 package com.torchmind.mango.event.subscription.filter;
 
+import com.torchmind.mango.event.internal.ConditionCompiler;
 import com.torchmind.mango.event.utility.CancelableEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.invoke.MethodHandle;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -61,6 +64,21 @@ public interface EventFilter {
    */
   boolean accepts(@NonNull Object event);
 
+  /**
+   * <p>Evaluates whether this filter may accept events which have been marked as cancelled.</p>
+   *
+   * <p>When this method returns false, the event bus assumes that {@link #accepts(Object)} rejects
+   * any cancelled {@link CancelableEvent} and may thus skip this filter entirely once an event has
+   * been cancelled. As with {@link #accepts(Class)}, the return value must be constant.</p>
+   *
+   * <p>By default, filters are assumed to accept cancelled events.</p>
+   *
+   * @return true if cancelled events may be accepted, false otherwise.
+   */
+  default boolean acceptsCancelled() {
+    return true;
+  }
+
   /**
    * Provides a factory for event filters.
    */
@@ -69,6 +87,7 @@ public interface EventFilter {
     private final Set<Class<?>> eventTypes = new HashSet<>();
     private boolean acceptCancelled;
     private boolean acceptHeirs = true;
+    private String condition;
 
     /**
      * Creates a new filter based on the configuration within this builder.
@@ -83,7 +102,52 @@ public interface EventFilter {
         eventTypes = Collections.singleton(Object.class);
       }
 
-      return new ConfigurableEventFilter(eventTypes, this.acceptCancelled, this.acceptHeirs);
+      MethodHandle condition = null;
+
+      if (this.condition != null && !this.condition.isEmpty()) {
+        if (eventTypes.size() != 1) {
+          throw new IllegalArgumentException(
+              "Illegal condition: Expected exactly one event type but got " + eventTypes);
+        }
+
+        condition = ConditionCompiler.compile(this.condition, eventTypes.iterator().next());
+      }
+
+      return new ConfigurableEventFilter(eventTypes, this.acceptCancelled, this.acceptHeirs,
+          condition);
+    }
+
+    /**
+     * <p>Selects a condition which is evaluated against the contents of an event before it is
+     * passed to the subscription.</p>
+     *
+     * <p>Conditions compare properties of the event with literals and may be combined using the
+     * {@code &&}, {@code ||} and {@code !} operators as well as parentheses. Properties are
+     * resolved to public getters, accessor methods or fields of the event type and may be chained
+     * using dots. For instance:</p>
+     *
+     * <pre>
+     * player.name != null &amp;&amp; level &gt;= 5 &amp;&amp; state in (RUNNING, PAUSED)
+     * </pre>
+     *
+     * <p>Supported comparisons are {@code ==}, {@code !=}, {@code <}, {@code <=}, {@code >},
+     * {@code >=} and {@code in (...)} with {@code null}, boolean, numeric, quoted string and enum
+     * constant literals. Boolean properties may be used as conditions on their own.</p>
+     *
+     * <p>The condition is compiled once when the filter is built and requires the filter to accept
+     * exactly one event type against which its properties are resolved.</p>
+     *
+     * <p>By default, filters do not evaluate any conditions.</p>
+     *
+     * @param condition a condition or null to disable conditional filtering.
+     * @return a reference to this builder.
+     * @throws IllegalArgumentException (upon {@link #build()}) when the condition is malformed or
+     * refers to unknown properties.
+     */
+    @NonNull
+    public Builder withCondition(@Nullable String condition) {
+      this.condition = condition;
+      return this;
     }
 
     /**
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.utility;
+
+import com.torchmind.mango.event.EventBus;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Wraps an event which has been posted to a bus without any matching subscriptions.</p>
+ *
+ * <p>Dead events are only published when the bus has been configured to do so (see {@link
+ * DeadEventPolicy#REPUBLISH}) and permit applications to locate producers which perform work that
+ * no subscriber is interested in.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class DeadEvent {
+
+  private final EventBus eventBus;
+  private final Object event;
+
+  public DeadEvent(@NonNull EventBus eventBus, @NonNull Object event) {
+    this.eventBus = eventBus;
+    this.event = event;
+  }
+
+  /**
+   * Retrieves the event which has not been handled by any subscription.
+   *
+   * @return an event.
+   */
+  @NonNull
+  public Object getEvent() {
+    return this.event;
+  }
+
+  /**
+   * Retrieves the bus to which the event has been posted.
+   *
+   * @return an event bus.
+   */
+  @NonNull
+  public EventBus getEventBus() {
+    return this.eventBus;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "DeadEvent{event=" + this.event + "}";
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.utility;
+
+/**
+ * <p>Defines the strategies which may be applied to events which have been posted to a bus without
+ * any matching subscriptions.</p>
+ *
+ * <p>Regardless of the selected strategy, posting an event without subscriptions returns
+ * immediately after its subscription queue has been resolved.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum DeadEventPolicy {
+
+  /**
+   * Silently discards dead events.
+   */
+  IGNORE,
+
+  /**
+   * Counts dead events per event type (see {@link
+   * com.torchmind.mango.event.EventBus#getDeadEventCounts()}).
+   */
+  COUNT,
+
+  /**
+   * <p>Counts dead events per event type and republishes them wrapped in a {@link DeadEvent}.</p>
+   *
+   * <p>Dead events which are not handled themselves are discarded rather than wrapped again.</p>
+   */
+  REPUBLISH
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.utility;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides a specification for events which are addressed to a specific topic (such as an
+ * entity, player or session).</p>
+ *
+ * <p>Keyed events are exclusively passed to subscriptions which have been registered with an equal
+ * key as well as all unkeyed subscriptions. Keys are compared using {@link Object#equals(Object)}
+ * and {@link Object#hashCode()} and must thus remain stable while an event is being
+ * dispatched.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface KeyedEvent {
+
+  /**
+   * Retrieves the key of the topic to which this event is addressed.
+   *
+   * @return a key or null if the event shall only be passed to unkeyed subscriptions.
+   */
+  @Nullable
+  Object getKey();
+}
@@ -6,8 +6,11 @@
  */
 module com.torchmind.mango.event {
   exports com.torchmind.mango.event;
+  exports com.torchmind.mango.event.adapter;
   exports com.torchmind.mango.event.annotation;
   exports com.torchmind.mango.event.error;
+  exports com.torchmind.mango.event.instrumentation;
+  exports com.torchmind.mango.event.pipeline;
   exports com.torchmind.mango.event.subscription;
   exports com.torchmind.mango.event.subscription.filter;
   exports com.torchmind.mango.event.utility;
@@ -15,4 +18,5 @@ module com.torchmind.mango.event {
   requires static com.github.spotbugs.annotations;
   requires com.torchmind.mango.concurrency;
   requires com.torchmind.reflect;
+  requires java.management;
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records the computation of a subscription queue after a cache miss.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("com.torchmind.mango.event.CacheRebuild")
+@Label("Subscription Cache Rebuild")
+@Description("Computation of the subscription queue for an event type after a cache miss")
+@Category({"Mango", "Event Bus"})
+@StackTrace(false)
+final class CacheRebuildEvent extends Event {
+
+  @Label("Event Type")
+  Class<?> eventType;
+
+  @Label("Scanned Subscriptions")
+  @Description("Amount of subscriptions which have been evaluated")
+  int scannedCount;
+
+  @Label("Matched Subscriptions")
+  @Description("Amount of subscriptions within the resulting queue")
+  int matchedCount;
+}
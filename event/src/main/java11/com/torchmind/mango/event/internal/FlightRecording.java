@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.event.subscription.SubscriptionQueue;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import jdk.jfr.EventType;
+
+/**
+ * <p>Emits Java Flight Recorder events for the dispatch of events.</p>
+ *
+ * <p>When the library is loaded as a named module, the flight recorder module is only accessed if
+ * it has been resolved within the boot layer. Otherwise, this implementation will not record
+ * anything.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class FlightRecording {
+
+  private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr")
+      .map((module) -> {
+        FlightRecording.class.getModule().addReads(module);
+        return true;
+      })
+      .orElse(false);
+
+  private FlightRecording() {
+  }
+
+  /**
+   * Begins recording the dispatch of an event within a single bus.
+   *
+   * @return a recording or null if the respective event type is disabled.
+   */
+  @Nullable
+  public static Object beginPost() {
+    if (!AVAILABLE || !EventTypes.POST.isEnabled()) {
+      return null;
+    }
+
+    PostEvent event = new PostEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Completes the recording of a dispatch.
+   *
+   * @param recording a recording (as returned by {@link #beginPost()}).
+   * @param eventType the type of the dispatched event.
+   * @param subscriptionCount the amount of subscriptions within the queue of the event type.
+   */
+  public static void commitPost(@Nullable Object recording, @NonNull Class<?> eventType,
+      int subscriptionCount) {
+    if (recording == null) {
+      return;
+    }
+
+    PostEvent event = (PostEvent) recording;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.eventType = eventType;
+      event.subscriptionCount = subscriptionCount;
+      event.commit();
+    }
+  }
+
+  /**
+   * Begins recording the computation of a subscription queue.
+   *
+   * @return a recording or null if the respective event type is disabled.
+   */
+  @Nullable
+  public static Object beginCacheRebuild() {
+    if (!AVAILABLE || !EventTypes.CACHE_REBUILD.isEnabled()) {
+      return null;
+    }
+
+    CacheRebuildEvent event = new CacheRebuildEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Completes the recording of a subscription queue computation.
+   *
+   * @param recording a recording (as returned by {@link #beginCacheRebuild()}).
+   * @param eventType the type for which the queue has been computed.
+   * @param scannedCount the amount of subscriptions which have been evaluated.
+   * @param matchedCount the amount of subscriptions within the resulting queue.
+   */
+  public static void commitCacheRebuild(@Nullable Object recording, @NonNull Class<?> eventType,
+      int scannedCount, int matchedCount) {
+    if (recording == null) {
+      return;
+    }
+
+    CacheRebuildEvent event = (CacheRebuildEvent) recording;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.eventType = eventType;
+      event.scannedCount = scannedCount;
+      event.matchedCount = matchedCount;
+      event.commit();
+    }
+  }
+
+  /**
+   * Evaluates whether individual handler invocations are currently recorded.
+   *
+   * @return true if enabled, false otherwise.
+   * @see #dispatch(SubscriptionQueue, Object)
+   */
+  public static boolean isHandlerRecordingEnabled() {
+    return AVAILABLE && EventTypes.HANDLER.isEnabled();
+  }
+
+  /**
+   * Passes an event to all matching subscriptions within a queue while recording each handler
+   * invocation.
+   *
+   * @param queue a queue.
+   * @param event an event.
+   */
+  public static void dispatch(@NonNull SubscriptionQueue queue, @NonNull Object event) {
+    queue.dispatch(event, (subscription, e) -> {
+      if (!subscription.accepts(e)) {
+        return;
+      }
+
+      HandlerEvent recording = new HandlerEvent();
+      recording.begin();
+      subscription.handle(e);
+      recording.end();
+
+      if (recording.shouldCommit()) {
+        recording.eventType = e.getClass();
+        recording.subscription = subscription.toString();
+        recording.commit();
+      }
+    });
+  }
+
+  /**
+   * Lazily resolves the flight recorder metadata of all event types once the flight recorder
+   * module has been made readable.
+   */
+  private static final class EventTypes {
+
+    private static final EventType POST = EventType.getEventType(PostEvent.class);
+    private static final EventType HANDLER = EventType.getEventType(HandlerEvent.class);
+    private static final EventType CACHE_REBUILD = EventType
+        .getEventType(CacheRebuildEvent.class);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>Records the invocation of a single subscription handler.</p>
+ *
+ * <p>As handler invocations are comparatively frequent, this event is disabled by default and
+ * only records handlers which exceed its threshold when enabled.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("com.torchmind.mango.event.Handler")
+@Label("Event Handler")
+@Description("Invocation of a single subscription handler")
+@Category({"Mango", "Event Bus"})
+@Enabled(false)
+@StackTrace(false)
+@Threshold("1 ms")
+final class HandlerEvent extends Event {
+
+  @Label("Event Type")
+  Class<?> eventType;
+
+  @Label("Subscription")
+  String subscription;
+}
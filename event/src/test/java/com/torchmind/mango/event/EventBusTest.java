@@ -17,15 +17,42 @@
 package com.torchmind.mango.event;
 
 import com.torchmind.mango.event.annotation.Subscribe;
+import com.torchmind.mango.event.instrumentation.Instrumentation;
+import com.torchmind.mango.event.subscription.OverflowPolicy;
 import com.torchmind.mango.event.subscription.Subscription;
 import com.torchmind.mango.event.subscription.SubscriptionHandle;
+import com.torchmind.mango.event.subscription.SubscriptionQueue;
 import com.torchmind.mango.event.subscription.filter.EventFilter;
 import com.torchmind.mango.event.utility.CancelableEvent;
+import com.torchmind.mango.event.utility.DeadEvent;
+import com.torchmind.mango.event.utility.DeadEventPolicy;
+import com.torchmind.mango.event.utility.KeyedEvent;
+import com.torchmind.mango.event.utility.MutableCancelableEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
@@ -114,6 +141,240 @@ public class EventBusTest {
     Mockito.verifyZeroInteractions(subscription);
   }
 
+  /**
+   * Evaluates whether subscriptions which are registered while an event is being handled are
+   * excluded from the current invocation but receive subsequent events.
+   */
+  @Test
+  public void testRegisterDuringPost() {
+    Runnable runnable = Mockito.mock(Runnable.class);
+
+    this.eventBus.createSubscription()
+        .register(() -> this.eventBus.createSubscription().register(runnable));
+
+    Object event = new Object();
+    this.eventBus.post(event);
+
+    Mockito.verifyZeroInteractions(runnable);
+
+    this.eventBus.post(event);
+
+    Mockito.verify(runnable, Mockito.times(1)).run();
+  }
+
+  /**
+   * Evaluates whether the event bus preserves the order of execution and its filters when events
+   * are passed through generated dispatchers.
+   */
+  @Test
+  public void testCompiledDispatch() {
+    EventBus eventBus = new EventBus.Builder()
+        .withCompiledDispatch(true)
+        .build();
+
+    Runnable runnableA = Mockito.mock(Runnable.class);
+    Runnable runnableB = Mockito.mock(Runnable.class);
+    Runnable runnableC = Mockito.mock(Runnable.class);
+
+    eventBus.createSubscription().withPriority(1).register(runnableB);
+    eventBus.createSubscription().withPriority(0).register(runnableA);
+    eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder().withEventType(String.class).build())
+        .register(runnableC);
+
+    int count = SubscriptionQueue.COMPILATION_THRESHOLD * 2;
+
+    for (int i = 0; i < count; ++i) {
+      eventBus.post(new Object());
+    }
+
+    InOrder order = Mockito.inOrder(runnableA, runnableB);
+
+    for (int i = 0; i < count; ++i) {
+      order.verify(runnableA).run();
+      order.verify(runnableB).run();
+    }
+
+    Mockito.verifyZeroInteractions(runnableC);
+  }
+
+  /**
+   * Evaluates whether asynchronously posted events are handled on the configured executor while
+   * preserving the order of execution and cancellation states.
+   */
+  @Test
+  public void testPostAsync() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      EventBus eventBus = new EventBus.Builder()
+          .withExecutor(executor)
+          .build();
+
+      Thread caller = Thread.currentThread();
+      Runnable runnable = Mockito.mock(Runnable.class);
+
+      eventBus.createSubscription()
+          .withFilter(new EventFilter.Builder().withEventType(TestEvent.class).build())
+          .withPriority(0)
+          .register((Consumer<TestEvent>) (event) -> {
+            Assert.assertNotSame(caller, Thread.currentThread());
+            event.setCancelled(true);
+          });
+      eventBus.createSubscription()
+          .withPriority(1)
+          .register(runnable);
+
+      TestEvent event = eventBus.postAsync(new TestEvent()).get(10, TimeUnit.SECONDS);
+
+      Assert.assertTrue(event.isCancelled());
+      Mockito.verifyZeroInteractions(runnable);
+
+      EventBus child = eventBus.createChild();
+      child.createSubscription()
+          .register(() -> {
+            throw new IllegalStateException("Test");
+          });
+
+      try {
+        eventBus.broadcastAsync(new Object()).get(10, TimeUnit.SECONDS);
+        Assert.fail("Expected exception");
+      } catch (ExecutionException ex) {
+        Assert.assertTrue(ex.getCause() instanceof IllegalStateException);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Evaluates whether asynchronous subscriptions handle events on the subscriber executor while
+   * synchronous subscriptions remain within the publishing thread.
+   */
+  @Test
+  public void testAsyncSubscription() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      EventBus eventBus = new EventBus.Builder()
+          .withSubscriberExecutor(executor)
+          .build();
+
+      Thread caller = Thread.currentThread();
+      CountDownLatch latch = new CountDownLatch(2);
+      AtomicReference<Thread> builderThread = new AtomicReference<>();
+      AsyncListener listener = new AsyncListener(latch);
+
+      eventBus.createSubscription()
+          .withAsync(true)
+          .register(() -> {
+            builderThread.set(Thread.currentThread());
+            latch.countDown();
+          });
+      eventBus.register(listener);
+
+      eventBus.post("Test");
+
+      Assert.assertSame(caller, listener.syncThread);
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      Assert.assertNotSame(caller, builderThread.get());
+      Assert.assertNotSame(caller, listener.asyncThread);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Evaluates whether batches of events are passed to their respective subscriptions in order.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPostAll() {
+    Consumer<Object> objectConsumer = Mockito.mock(Consumer.class);
+    Consumer<Object> stringConsumer = Mockito.mock(Consumer.class);
+    Consumer<Object> childConsumer = Mockito.mock(Consumer.class);
+
+    this.eventBus.createSubscription()
+        .register(objectConsumer);
+    this.eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder().withEventType(String.class).build())
+        .register(stringConsumer);
+
+    EventBus child = this.eventBus.createChild();
+    child.createSubscription()
+        .register(childConsumer);
+
+    Object eventA = "A";
+    Object eventB = 1;
+    Object eventC = "C";
+    Object eventD = "D";
+    List<Object> events = Arrays.asList(eventA, eventB, eventC, eventD);
+
+    this.eventBus.postAll(events);
+
+    InOrder order = Mockito.inOrder(objectConsumer, stringConsumer);
+    order.verify(objectConsumer).accept(eventA);
+    order.verify(stringConsumer).accept(eventA);
+    order.verify(objectConsumer).accept(eventB);
+    order.verify(objectConsumer).accept(eventC);
+    order.verify(stringConsumer).accept(eventC);
+    order.verify(objectConsumer).accept(eventD);
+    order.verify(stringConsumer).accept(eventD);
+    order.verifyNoMoreInteractions();
+    Mockito.verifyZeroInteractions(childConsumer);
+
+    Mockito.clearInvocations(objectConsumer, stringConsumer);
+    this.eventBus.broadcastAll(events);
+
+    order = Mockito.inOrder(objectConsumer, childConsumer);
+
+    for (Object event : events) {
+      order.verify(objectConsumer).accept(event);
+    }
+
+    for (Object event : events) {
+      order.verify(childConsumer).accept(event);
+    }
+
+    Mockito.verify(stringConsumer, Mockito.times(3)).accept(Mockito.any());
+  }
+
+  /**
+   * Evaluates whether events without subscriptions are counted and republished as dead events.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDeadEvent() {
+    EventBus eventBus = new EventBus.Builder()
+        .withDeadEventPolicy(DeadEventPolicy.REPUBLISH)
+        .build();
+    Consumer<Object> consumer = Mockito.mock(Consumer.class);
+
+    eventBus.post("A");
+    Assert.assertEquals(Long.valueOf(1), eventBus.getDeadEventCounts().get(String.class));
+    Assert.assertEquals(Long.valueOf(1), eventBus.getDeadEventCounts().get(DeadEvent.class));
+
+    eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder().withEventType(DeadEvent.class).build())
+        .register(consumer);
+
+    eventBus.postAll(Arrays.asList("B", "C"));
+    eventBus.post(1);
+
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    Mockito.verify(consumer, Mockito.times(3)).accept(captor.capture());
+
+    Assert.assertEquals(Arrays.asList("B", "C", 1), captor.getAllValues().stream()
+        .map((event) -> ((DeadEvent) event).getEvent())
+        .collect(Collectors.toList()));
+    Assert.assertEquals(Long.valueOf(3), eventBus.getDeadEventCounts().get(String.class));
+    Assert.assertEquals(Long.valueOf(1), eventBus.getDeadEventCounts().get(Integer.class));
+    Assert.assertEquals(Long.valueOf(1), eventBus.getDeadEventCounts().get(DeadEvent.class));
+
+    this.eventBus.post("D");
+    Assert.assertTrue(this.eventBus.getDeadEventCounts().isEmpty());
+  }
+
   /**
    * Evaluates whether the event bus correctly wraps consumers and passes events to them.
    */
@@ -168,6 +429,267 @@ public class EventBusTest {
     Mockito.verify(runnable, Mockito.times(1)).run();
   }
 
+  /**
+   * Evaluates whether subscriptions which reject cancelled events are skipped once an event has
+   * been cancelled.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCancellation() {
+    Consumer<Object> consumerB = Mockito.mock(Consumer.class);
+    Consumer<Object> consumerC = Mockito.mock(Consumer.class);
+
+    EventFilter filterB = Mockito.mock(EventFilter.class);
+    EventFilter filterC = Mockito.mock(EventFilter.class);
+
+    Mockito.when(filterB.accepts(TestEvent.class)).thenReturn(true);
+    Mockito.when(filterC.accepts(TestEvent.class)).thenReturn(true);
+    Mockito.when(filterC.accepts(Mockito.<Object>any())).thenReturn(true);
+    Mockito.when(filterB.acceptsCancelled()).thenReturn(false);
+    Mockito.when(filterC.acceptsCancelled()).thenReturn(true);
+
+    this.eventBus.createSubscription()
+        .withPriority(0)
+        .register((TestEvent event) -> event.setCancelled(true));
+    this.eventBus.createSubscription()
+        .withFilter(filterB)
+        .withPriority(1)
+        .register(consumerB);
+    this.eventBus.createSubscription()
+        .withFilter(filterC)
+        .withPriority(2)
+        .register(consumerC);
+
+    TestEvent event = new TestEvent();
+    this.eventBus.post(event);
+
+    Assert.assertTrue(event.isCancelled());
+    Mockito.verify(filterB, Mockito.never()).accepts(Mockito.<Object>any());
+    Mockito.verifyZeroInteractions(consumerB);
+    Mockito.verify(consumerC).accept(event);
+  }
+
+  /**
+   * Evaluates whether keyed events are exclusively passed to the subscriptions for their key and
+   * all unkeyed subscriptions (in order of priority).
+   */
+  @Test
+  public void testKeyed() {
+    List<Object> invocations = new ArrayList<>();
+    EventFilter filter = Mockito.mock(EventFilter.class);
+    Mockito.when(filter.accepts(KeyedTestEvent.class)).thenReturn(true);
+    Mockito.when(filter.accepts(Mockito.<Object>any())).thenReturn(true);
+
+    for (int i = 0; i < 64; ++i) {
+      int key = i;
+
+      this.eventBus.createSubscription()
+          .withFilter(filter)
+          .withKey(key)
+          .withPriority(key % 2 == 0 ? -1 : 1)
+          .register(() -> invocations.add(key));
+    }
+
+    this.eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder().withEventType(KeyedTestEvent.class).build())
+        .register(() -> invocations.add("unkeyed"));
+    this.eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder().withEventType(KeyedTestEvent.class).build())
+        .register(() -> invocations.add("unkeyed"));
+
+    this.eventBus.post(new KeyedTestEvent(4));
+    this.eventBus.post(new KeyedTestEvent(7));
+    this.eventBus.post(new KeyedTestEvent(null));
+    this.eventBus.post(new KeyedTestEvent(128));
+
+    Assert.assertEquals(Arrays.asList(4, "unkeyed", "unkeyed", "unkeyed", "unkeyed", 7, "unkeyed",
+        "unkeyed", "unkeyed", "unkeyed"), invocations);
+    Mockito.verify(filter, Mockito.times(2)).accepts(Mockito.<Object>any());
+  }
+
+  /**
+   * Evaluates whether annotated handlers with a queue capacity pass overflowing events to the
+   * overflow handler of the bus and expose their queue metrics.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBoundedAsync() {
+    Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    Consumer<Object> overflowHandler = Mockito.mock(Consumer.class);
+    EventBus eventBus = new EventBus.Builder()
+        .withSubscriberExecutor(tasks::add)
+        .withOverflowHandler(overflowHandler)
+        .withInstrumentation(true)
+        .build();
+    Instrumentation instrumentation = eventBus.getInstrumentation();
+    BoundedListener listener = new BoundedListener();
+    String name = BoundedListener.class.getName() + "#onEvent";
+
+    try {
+      eventBus.register(listener);
+
+      eventBus.post("A");
+      eventBus.post("B");
+      Mockito.verify(overflowHandler).accept("B");
+      Assert.assertEquals(1, tasks.size());
+      Assert.assertEquals(Integer.valueOf(1),
+          instrumentation.getSubscriptionQueueDepths().get(name));
+      Assert.assertEquals(Long.valueOf(1), instrumentation.getSubscriptionDropCounts().get(name));
+
+      tasks.poll().run();
+      Assert.assertEquals(Collections.singletonList("A"), listener.events);
+      Assert.assertEquals(Integer.valueOf(0),
+          instrumentation.getSubscriptionQueueDepths().get(name));
+    } finally {
+      instrumentation.unregisterMBean();
+    }
+  }
+
+  /**
+   * Evaluates whether declarative conditions are evaluated before events are passed to annotated
+   * handlers.
+   */
+  @Test
+  public void testCondition() {
+    ConditionalListener listener = new ConditionalListener();
+    this.eventBus.register(listener);
+
+    this.eventBus.post(new KeyedTestEvent("A"));
+    this.eventBus.post(new KeyedTestEvent("B"));
+    this.eventBus.post(new KeyedTestEvent(null));
+    this.eventBus.post(new KeyedTestEvent("C"));
+
+    Assert.assertEquals(Arrays.asList("A", "C"), listener.keys);
+  }
+
+  /**
+   * Evaluates whether bursts of coalesced events are reduced to the most recent event per key.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCoalescing() {
+    EventBus eventBus = new EventBus.Builder()
+        .withCoalescing(CharSequence.class, (event) -> event.length() != 0 ? event.charAt(0) : null,
+            1, TimeUnit.HOURS)
+        .build();
+    Consumer<Object> consumer = Mockito.mock(Consumer.class);
+
+    eventBus.createSubscription()
+        .register(consumer);
+
+    eventBus.post("A1");
+    eventBus.post("B1");
+    eventBus.postAll(Arrays.asList("A2", new StringBuilder("A3"), "B2", 1, ""));
+    Mockito.verify(consumer).accept(1);
+    Mockito.verify(consumer).accept("");
+    Mockito.verifyNoMoreInteractions(consumer);
+
+    eventBus.flushCoalescedEvents();
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    Mockito.verify(consumer, Mockito.times(4)).accept(captor.capture());
+
+    Assert.assertEquals(Arrays.asList("A3", "B2"), captor.getAllValues().subList(2, 4).stream()
+        .map(Object::toString)
+        .sorted()
+        .collect(Collectors.toList()));
+    Assert.assertEquals(Long.valueOf(3), eventBus.getCoalescedEventCounts().get(String.class));
+    Assert.assertNull(eventBus.getCoalescedEventCounts().get(StringBuilder.class));
+    Assert.assertTrue(this.eventBus.getCoalescedEventCounts().isEmpty());
+
+    EventBus windowedBus = new EventBus.Builder()
+        .withCoalescing(String.class, (event) -> event, 10, TimeUnit.MILLISECONDS)
+        .build();
+    Consumer<Object> windowedConsumer = Mockito.mock(Consumer.class);
+
+    windowedBus.createSubscription()
+        .register(windowedConsumer);
+
+    windowedBus.post("A");
+    windowedBus.post("A");
+    Mockito.verify(windowedConsumer, Mockito.timeout(5000)).accept("A");
+    Assert.assertEquals(Long.valueOf(1), windowedBus.getCoalescedEventCounts().get(String.class));
+  }
+
+  /**
+   * Evaluates whether windows which have been flushed manually are no longer closed by their
+   * scheduled task.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCoalescingFlush() {
+    ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+    ScheduledFuture<?> future = Mockito.mock(ScheduledFuture.class);
+    ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+    Mockito.when(scheduler.schedule(tasks.capture(), Mockito.anyLong(), Mockito.any()))
+        .thenReturn((ScheduledFuture) future);
+
+    EventBus eventBus = new EventBus.Builder()
+        .withCoalescing(String.class, (event) -> event.charAt(0), 1, TimeUnit.HOURS)
+        .withCoalescingScheduler(scheduler)
+        .withExecutor(Runnable::run)
+        .build();
+    Consumer<Object> consumer = Mockito.mock(Consumer.class);
+
+    eventBus.createSubscription()
+        .register(consumer);
+
+    eventBus.post("A1");
+    eventBus.flushCoalescedEvents();
+    Mockito.verify(consumer).accept("A1");
+    Mockito.verify(future).cancel(false);
+
+    eventBus.post("A2");
+    Assert.assertEquals(2, tasks.getAllValues().size());
+
+    tasks.getAllValues().get(0).run();
+    Mockito.verifyNoMoreInteractions(consumer);
+
+    tasks.getAllValues().get(1).run();
+    Mockito.verify(consumer).accept("A2");
+  }
+
+  /**
+   * Evaluates whether sticky events are retained, evicted, expired and passed to new
+   * subscriptions.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStickyEvent() throws InterruptedException {
+    EventBus eventBus = new EventBus.Builder()
+        .withStickyEventType(CharSequence.class, Number.class)
+        .withMaximumStickyEvents(2)
+        .build();
+    Consumer<Object> consumer = Mockito.mock(Consumer.class);
+
+    eventBus.post("A");
+    eventBus.post(new Object());
+    eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder().withEventType(String.class).build())
+        .register(consumer);
+    Mockito.verify(consumer).accept("A");
+
+    eventBus.post("B");
+    Mockito.verify(consumer).accept("B");
+    Assert.assertEquals("B", eventBus.getStickyEvent(String.class));
+    Assert.assertNull(eventBus.getStickyEvent(Object.class));
+
+    eventBus.post(1);
+    eventBus.post(2L);
+    Assert.assertNull(eventBus.getStickyEvent(String.class));
+    Assert.assertEquals(Integer.valueOf(1), eventBus.removeStickyEvent(Integer.class));
+    Assert.assertNull(eventBus.getStickyEvent(Integer.class));
+    Assert.assertEquals(Long.valueOf(2), eventBus.getStickyEvent(Long.class));
+
+    EventBus expiringBus = new EventBus.Builder()
+        .withStickyEventType(String.class)
+        .withStickyEventTimeToLive(1, TimeUnit.MILLISECONDS)
+        .build();
+
+    expiringBus.post("A");
+    Thread.sleep(10);
+    Assert.assertNull(expiringBus.getStickyEvent(String.class));
+  }
+
   /**
    * Evaluates whether the event bus respects the decisions of a custom event filter.
    */
@@ -350,6 +872,206 @@ public class EventBusTest {
     Mockito.verify(subscriptionF, Mockito.times(1)).handle(event);
   }
 
+  /**
+   * Evaluates whether child buses which have posted events to listeners referencing the bus itself
+   * are garbage collected once they are no longer referenced.
+   */
+  @Test
+  public void testChildCollection() throws InterruptedException {
+    WeakReference<EventBus> collected = new WeakReference<>(this.createSelfReferencingChild());
+
+    for (int i = 0; i < 100 && collected.get() != null; ++i) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    Assert.assertNull(collected.get());
+  }
+
+  /**
+   * Evaluates whether parent buses are garbage collected once they are no longer referenced even
+   * when their collected children have not been expunged yet.
+   */
+  @Test
+  public void testParentCollection() throws InterruptedException {
+    EventBus parent = this.eventBus.createChild();
+    WeakReference<EventBus> child = new WeakReference<>(parent.createChild());
+
+    for (int i = 0; i < 100 && child.get() != null; ++i) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    Assert.assertNull(child.get());
+
+    WeakReference<EventBus> collected = new WeakReference<>(parent);
+    parent = null;
+
+    for (int i = 0; i < 100 && collected.get() != null; ++i) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    Assert.assertNull(collected.get());
+  }
+
+  /**
+   * Creates a child bus which has posted an event to a listener that references the bus.
+   *
+   * @return a child bus.
+   */
+  private EventBus createSelfReferencingChild() {
+    EventBus child = this.eventBus.createChild();
+    child.createSubscription().register((String event) -> child.getCacheStatistics());
+    child.post("Test");
+    return child;
+  }
+
+  /**
+   * Evaluates whether broadcasts reach nested children in depth-first order and skip children
+   * which have been garbage collected.
+   */
+  @Test
+  public void testChildTree() throws InterruptedException {
+    List<String> buses = new ArrayList<>();
+    EventBus childA = this.eventBus.createChild();
+    EventBus childAA = childA.createChild();
+    EventBus childB = this.eventBus.createChild();
+
+    this.eventBus.createSubscription().register(() -> buses.add("root"));
+    childA.createSubscription().register(() -> buses.add("A"));
+    childAA.createSubscription().register(() -> buses.add("AA"));
+    childB.createSubscription().register(() -> buses.add("B"));
+
+    WeakReference<EventBus> collected = new WeakReference<>(childB.createChild());
+    collected.get().createSubscription().register(() -> buses.add("BA"));
+    EventBus childAAA = childAA.createChild();
+    childAAA.createSubscription().register(() -> buses.add("AAA"));
+
+    for (int i = 0; i < 100 && collected.get() != null; ++i) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    Assume.assumeTrue(collected.get() == null);
+
+    this.eventBus.broadcast(new Object());
+    Assert.assertEquals(Arrays.asList("root", "A", "AA", "AAA", "B"), buses);
+  }
+
+  /**
+   * Evaluates whether parallel broadcasts notify the entire tree after the listeners of the
+   * broadcasting bus.
+   */
+  @Test
+  public void testParallelBroadcast() {
+    EventBus eventBus = new EventBus.Builder()
+        .withParallelBroadcast(true)
+        .build();
+    AtomicBoolean rootNotified = new AtomicBoolean();
+    AtomicInteger notifications = new AtomicInteger();
+    List<EventBus> children = new ArrayList<>();
+
+    eventBus.createSubscription().register(() -> rootNotified.set(true));
+
+    for (int i = 0; i < 16; ++i) {
+      EventBus child = eventBus.createChild();
+      AtomicBoolean childNotified = new AtomicBoolean();
+      children.add(child);
+
+      child.createSubscription().register(() -> {
+        Assert.assertTrue(rootNotified.get());
+        childNotified.set(true);
+        notifications.incrementAndGet();
+      });
+
+      for (int j = 0; j < 2; ++j) {
+        EventBus grandchild = child.createChild();
+        children.add(grandchild);
+
+        grandchild.createSubscription().register(() -> {
+          Assert.assertTrue(childNotified.get());
+          notifications.incrementAndGet();
+        });
+      }
+    }
+
+    eventBus.broadcast(new Object());
+    Assert.assertTrue(rootNotified.get());
+    Assert.assertEquals(48, notifications.get());
+  }
+
+  public static class BoundedListener {
+
+    private final List<Object> events = new ArrayList<>();
+
+    @Subscribe(async = true, queueCapacity = 1, overflowPolicy = OverflowPolicy.CALLBACK)
+    public void onEvent(String event) {
+      this.events.add(event);
+    }
+  }
+
+  public static class ConditionalListener {
+
+    private final List<Object> keys = new ArrayList<>();
+
+    @Subscribe(condition = "key != null && key in ('A', 'C')")
+    public void onEvent(KeyedTestEvent event) {
+      this.keys.add(event.getKey());
+    }
+  }
+
+  public static class KeyedTestEvent implements KeyedEvent {
+
+    private final Object key;
+
+    public KeyedTestEvent(Object key) {
+      this.key = key;
+    }
+
+    @Override
+    public Object getKey() {
+      return this.key;
+    }
+  }
+
+  public static class TestEvent implements MutableCancelableEvent {
+
+    private volatile boolean cancelled;
+
+    @Override
+    public boolean isCancelled() {
+      return this.cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean value) {
+      this.cancelled = value;
+    }
+  }
+
+  public static class AsyncListener {
+
+    private final CountDownLatch latch;
+    private volatile Thread asyncThread;
+    private volatile Thread syncThread;
+
+    public AsyncListener(@NonNull CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Subscribe(async = true)
+    public void asyncSubscription(@NonNull String event) {
+      this.asyncThread = Thread.currentThread();
+      this.latch.countDown();
+    }
+
+    @Subscribe
+    public void syncSubscription(@NonNull String event) {
+      this.syncThread = Thread.currentThread();
+    }
+  }
+
   public interface TestListener {
 
     @Subscribe(eventType = Object.class, priority = -1)
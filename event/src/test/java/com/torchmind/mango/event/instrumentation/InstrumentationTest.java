@@ -0,0 +1,217 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.instrumentation;
+
+import com.torchmind.mango.event.EventBus;
+import com.torchmind.mango.event.annotation.Subscribe;
+import com.torchmind.mango.event.subscription.SubscriptionHandle;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Evaluates whether instrumented buses correctly record and publish their metrics.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class InstrumentationTest {
+
+  private EventBus eventBus;
+  private Instrumentation instrumentation;
+
+  /**
+   * Prepares the instance for upcoming tests.
+   */
+  @Before
+  public void prepare() {
+    this.eventBus = new EventBus.Builder()
+        .withInstrumentation(true)
+        .build();
+    this.instrumentation = this.eventBus.getInstrumentation();
+  }
+
+  /**
+   * Removes the instrumentation bean after each test.
+   */
+  @After
+  public void cleanup() {
+    this.instrumentation.unregisterMBean();
+  }
+
+  /**
+   * Evaluates whether buses without instrumentation do not expose any metrics.
+   */
+  @Test
+  public void testDisabled() {
+    Assert.assertNull(new EventBus().getInstrumentation());
+  }
+
+  /**
+   * Evaluates whether invocations and rejections are recorded per subscription and event type.
+   */
+  @Test
+  public void testMetrics() throws Exception {
+    this.eventBus.register(new Listener());
+    this.eventBus.createSubscription()
+        .withFilter(new EventFilter.Builder()
+            .withEventType(Integer.class)
+            .withAcceptHeirs(false)
+            .build())
+        .register(() -> {
+        });
+
+    for (int i = 0; i < 10; ++i) {
+      this.eventBus.post("Test");
+    }
+    this.eventBus.post(42);
+
+    String listener = Listener.class.getName() + "#onString";
+    Assert.assertEquals(10L, (long) this.instrumentation.getSubscriptionInvocationCounts()
+        .get(listener));
+    Assert.assertEquals(10L, (long) this.instrumentation.getEventTypeDispatchCounts()
+        .get(String.class.getName()));
+    Assert.assertEquals(1L, (long) this.instrumentation.getEventTypeDispatchCounts()
+        .get(Integer.class.getName()));
+    Assert.assertTrue(this.instrumentation.getSubscriptionP99Latencies().get(listener) > 0);
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    Assert.assertTrue(server.isRegistered(this.instrumentation.getObjectName()));
+
+    Map<?, ?> counts = (Map<?, ?>) JMX.newMXBeanProxy(server,
+        this.instrumentation.getObjectName(), InstrumentationMXBean.class)
+        .getSubscriptionInvocationCounts();
+    Assert.assertEquals(10L, counts.get(listener));
+
+    this.instrumentation.reset();
+    Assert.assertEquals(0L, (long) this.instrumentation.getSubscriptionInvocationCounts()
+        .get(listener));
+  }
+
+  /**
+   * Evaluates whether restored subscriptions retain their assigned names.
+   */
+  @Test
+  public void testRestore() {
+    SubscriptionHandle handle = this.eventBus.createSubscription()
+        .withName("named")
+        .register(() -> {
+        });
+
+    handle.remove();
+    handle.restore();
+    this.eventBus.post("Test");
+
+    Assert.assertEquals(Collections.singletonMap("named", 1L),
+        this.instrumentation.getSubscriptionInvocationCounts());
+  }
+
+  /**
+   * Evaluates whether child buses with named subscriptions which reference the bus itself are
+   * collected and their beans removed from the MBean server.
+   */
+  @Test
+  public void testCollectedChild() throws InterruptedException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    EventBus child = this.createSelfReferencingChild();
+    ObjectName objectName = child.getInstrumentation().getObjectName();
+    WeakReference<EventBus> reference = new WeakReference<>(child);
+
+    Assert.assertTrue(server.isRegistered(objectName));
+    child = null;
+
+    for (int i = 0; i < 100 && server.isRegistered(objectName); ++i) {
+      System.gc();
+      Thread.sleep(10);
+      this.eventBus.broadcast(new Object());
+    }
+
+    Assert.assertNull(reference.get());
+    Assert.assertFalse(server.isRegistered(objectName));
+  }
+
+  /**
+   * Evaluates whether the beans of nested child buses are removed from the MBean server when they
+   * are collected along with their parent.
+   */
+  @Test
+  public void testCollectedSubtree() throws InterruptedException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    EventBus child = this.eventBus.createChild();
+    ObjectName objectName = child.createChild().getInstrumentation().getObjectName();
+    ObjectName parentName = child.getInstrumentation().getObjectName();
+    child = null;
+
+    for (int i = 0; i < 100 && server.isRegistered(objectName); ++i) {
+      System.gc();
+      Thread.sleep(10);
+      this.eventBus.post(new Object());
+    }
+
+    Assert.assertFalse(server.isRegistered(parentName));
+    Assert.assertFalse(server.isRegistered(objectName));
+  }
+
+  /**
+   * Creates an instrumented child bus with a named subscription which references the bus.
+   *
+   * @return a child bus.
+   */
+  private EventBus createSelfReferencingChild() {
+    EventBus child = this.eventBus.createChild();
+    child.createSubscription()
+        .withName("x")
+        .register((String event) -> child.getInstrumentation());
+    child.post("Test");
+    return child;
+  }
+
+  /**
+   * Evaluates whether histograms report the bucket which contains a given percentile.
+   */
+  @Test
+  public void testHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    for (int i = 0; i < 99; ++i) {
+      histogram.record(100);
+    }
+    histogram.record(5000);
+
+    LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+    Assert.assertEquals(100, snapshot.getCount());
+    Assert.assertEquals(127, snapshot.getPercentile(50));
+    Assert.assertEquals(127, snapshot.getPercentile(99));
+    Assert.assertEquals(8191, snapshot.getPercentile(100));
+    Assert.assertEquals(149.0, snapshot.getMean(), 0.01);
+  }
+
+  public static class Listener {
+
+    @Subscribe
+    public void onString(String event) {
+    }
+  }
+}
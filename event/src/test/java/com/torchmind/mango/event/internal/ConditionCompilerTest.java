@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import java.lang.invoke.MethodHandle;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether conditions are compiled and evaluated correctly.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ConditionCompilerTest {
+
+  private static boolean evaluate(String condition, Object event) throws Throwable {
+    MethodHandle handle = ConditionCompiler.compile(condition, TestEvent.class);
+    return (boolean) handle.invokeExact(event);
+  }
+
+  /**
+   * Evaluates whether comparisons, membership checks and boolean operators are evaluated
+   * correctly.
+   */
+  @Test
+  public void testEvaluate() throws Throwable {
+    TestEvent event = new TestEvent("Alice", 5, State.RUNNING, new TestEvent("Bob", 1, null, null));
+
+    Assert.assertTrue(evaluate("level >= 5", event));
+    Assert.assertFalse(evaluate("level > 5", event));
+    Assert.assertTrue(evaluate("level == 5.0 && name == 'Alice'", event));
+    Assert.assertTrue(evaluate("state in (PAUSED, RUNNING)", event));
+    Assert.assertFalse(evaluate("state in (PAUSED)", event));
+    Assert.assertTrue(evaluate("active", event));
+    Assert.assertTrue(evaluate("!(level < 3) || name == null", event));
+    Assert.assertTrue(evaluate("parent.name == \"Bob\" && parent.state == null", event));
+    Assert.assertTrue(evaluate("parent.parent.name == null", event));
+    Assert.assertFalse(evaluate("parent.parent.level > 0", event));
+    Assert.assertTrue(evaluate("name >= 'Aa' && name < 'B'", event));
+  }
+
+  /**
+   * Evaluates whether malformed conditions are rejected upon compilation.
+   */
+  @Test
+  public void testIllegalCondition() {
+    String[] conditions = {"unknown == 1", "level >=", "state == STOPPED", "name", "level == 1)",
+        "name < null", "'unterminated"};
+
+    for (String condition : conditions) {
+      try {
+        ConditionCompiler.compile(condition, TestEvent.class);
+        Assert.fail("Expected condition to be rejected: " + condition);
+      } catch (IllegalArgumentException ignore) {
+      }
+    }
+  }
+
+  public enum State {
+    RUNNING,
+    PAUSED
+  }
+
+  public static class TestEvent {
+
+    public final TestEvent parent;
+    private final String name;
+    private final int level;
+    private final State state;
+
+    public TestEvent(String name, int level, State state, TestEvent parent) {
+      this.name = name;
+      this.level = level;
+      this.state = state;
+      this.parent = parent;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public int getLevel() {
+      return this.level;
+    }
+
+    public State state() {
+      return this.state;
+    }
+
+    public boolean isActive() {
+      return this.level > 0;
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.event.subscription.ConsumerSubscription;
+import com.torchmind.mango.event.subscription.RunnableSubscription;
+import com.torchmind.mango.event.subscription.Subscription;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+/**
+ * Evaluates whether the dispatcher factory generates valid dispatchers.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class DispatcherFactoryTest {
+
+  /**
+   * Evaluates whether generated dispatchers invoke accepting subscriptions in order and skip
+   * rejecting subscriptions.
+   */
+  @Test
+  public void testDispatch() {
+    Subscription subscriptionA = Mockito.mock(Subscription.class);
+    Subscription subscriptionB = Mockito.mock(Subscription.class);
+    Subscription subscriptionC = Mockito.mock(Subscription.class);
+
+    Object event = new Object();
+
+    Mockito.when(subscriptionA.accepts(event)).thenReturn(true);
+    Mockito.when(subscriptionB.accepts(event)).thenReturn(false);
+    Mockito.when(subscriptionC.accepts(event)).thenReturn(true);
+
+    Consumer<Object> dispatcher = DispatcherFactory
+        .createDispatcher(new Subscription[]{subscriptionA, subscriptionB, subscriptionC});
+
+    Assert.assertNotNull(dispatcher);
+    dispatcher.accept(event);
+
+    InOrder order = Mockito.inOrder(subscriptionA, subscriptionB, subscriptionC);
+    order.verify(subscriptionA).accepts(event);
+    order.verify(subscriptionA).handle(event);
+    order.verify(subscriptionB).accepts(event);
+    order.verify(subscriptionC).accepts(event);
+    order.verify(subscriptionC).handle(event);
+
+    Mockito.verify(subscriptionB, Mockito.never()).handle(Mockito.any());
+  }
+
+  /**
+   * Evaluates whether generated dispatchers invoke the filters and handlers of consumer and
+   * runnable subscriptions directly.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDirectDispatch() {
+    EventFilter acceptingFilter = Mockito.mock(EventFilter.class);
+    EventFilter rejectingFilter = Mockito.mock(EventFilter.class);
+    Consumer<Object> consumerA = Mockito.mock(Consumer.class);
+    Consumer<Object> consumerB = Mockito.mock(Consumer.class);
+    Runnable runnable = Mockito.mock(Runnable.class);
+
+    Object event = new Object();
+
+    Mockito.when(acceptingFilter.accepts(event)).thenReturn(true);
+    Mockito.when(rejectingFilter.accepts(event)).thenReturn(false);
+
+    Consumer<Object> dispatcher = DispatcherFactory.createDispatcher(new Subscription[]{
+        new ConsumerSubscription(consumerA, acceptingFilter, 0),
+        new RunnableSubscription(runnable, acceptingFilter, 0),
+        new ConsumerSubscription(consumerB, rejectingFilter, 0)
+    });
+
+    Assert.assertNotNull(dispatcher);
+    dispatcher.accept(event);
+
+    InOrder order = Mockito.inOrder(consumerA, runnable);
+    order.verify(consumerA).accept(event);
+    order.verify(runnable).run();
+
+    Mockito.verify(acceptingFilter, Mockito.times(2)).accepts(event);
+    Mockito.verify(rejectingFilter).accepts(event);
+    Mockito.verify(consumerB, Mockito.never()).accept(Mockito.any());
+  }
+
+  /**
+   * Evaluates whether dispatchers are generated for all supported queue sizes and rejected for
+   * larger queues.
+   */
+  @Test
+  public void testSizeLimit() {
+    Subscription subscription = Mockito.mock(Subscription.class);
+    Mockito.when(subscription.accepts(Mockito.<Object>any())).thenReturn(true);
+
+    for (int size : new int[]{0, 1, 6, 128, DispatcherFactory.MAXIMUM_SUBSCRIPTIONS}) {
+      Subscription[] subscriptions = new Subscription[size];
+      Arrays.fill(subscriptions, subscription);
+
+      Consumer<Object> dispatcher = DispatcherFactory.createDispatcher(subscriptions);
+      Assert.assertNotNull(dispatcher);
+
+      Object event = new Object();
+      dispatcher.accept(event);
+      Mockito.verify(subscription, Mockito.times(size)).handle(event);
+    }
+
+    Assert.assertNull(DispatcherFactory
+        .createDispatcher(new Subscription[DispatcherFactory.MAXIMUM_SUBSCRIPTIONS + 1]));
+  }
+}
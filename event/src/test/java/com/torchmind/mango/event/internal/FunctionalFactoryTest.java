@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether the functional factory wraps methods correctly and re-uses its factories.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class FunctionalFactoryTest {
+
+  /**
+   * Evaluates whether factories are cached per method and bind independent receivers.
+   */
+  @Test
+  public void testFactoryCache() throws NoSuchMethodException {
+    Method run = Target.class.getMethod("run");
+    Method accept = Target.class.getMethod("accept", String.class);
+
+    Assert.assertSame(FunctionalFactory.createRunnableFactory(run),
+        FunctionalFactory.createRunnableFactory(run));
+    Assert.assertSame(FunctionalFactory.createConsumerFactory(accept),
+        FunctionalFactory.createConsumerFactory(accept));
+
+    Target targetA = new Target();
+    Target targetB = new Target();
+
+    FunctionalFactory.createRunnable(targetA, run).run();
+    Consumer<String> consumer = FunctionalFactory.createConsumer(targetB, accept);
+    consumer.accept("Test");
+
+    Assert.assertEquals(1, targetA.invocations);
+    Assert.assertEquals(0, targetB.invocations);
+    Assert.assertEquals("Test", targetB.value);
+  }
+
+  /**
+   * Evaluates whether static methods are wrapped correctly.
+   */
+  @Test
+  public void testStatic() throws NoSuchMethodException {
+    Target.counter = 0;
+    FunctionalFactory.createRunnable(null, Target.class.getMethod("increment")).run();
+    Assert.assertEquals(1, Target.counter);
+  }
+
+  /**
+   * Evaluates whether virtual methods are rejected within a static context.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalContext() throws NoSuchMethodException {
+    FunctionalFactory.createRunnable(null, Target.class.getMethod("run"));
+  }
+
+  public static class Target {
+
+    private static int counter;
+
+    private int invocations;
+    private String value;
+
+    public static void increment() {
+      counter++;
+    }
+
+    public void run() {
+      this.invocations++;
+    }
+
+    public void accept(String value) {
+      this.value = value;
+    }
+  }
+}
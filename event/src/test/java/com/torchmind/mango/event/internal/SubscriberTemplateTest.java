@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import com.torchmind.mango.event.annotation.Subscribe;
+import com.torchmind.mango.event.subscription.Subscription;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether subscriber templates are resolved once per type and bound per instance.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SubscriberTemplateTest {
+
+  /**
+   * Evaluates whether templates are cached per type and produce independent bindings.
+   */
+  @Test
+  public void testBind() {
+    SubscriberTemplate template = SubscriberTemplate.of(Listener.class);
+    Assert.assertSame(template, SubscriberTemplate.of(Listener.class));
+    Assert.assertEquals(2, template.getHandlers().size());
+
+    Listener listenerA = new Listener();
+    Listener listenerB = new Listener();
+
+    for (SubscriberTemplate.Handler handler : template.getHandlers()) {
+      Subscription subscription = handler.bind(listenerA);
+      Assert.assertEquals(handler.getPriority(), handler.bind(listenerB).getPriority());
+
+      subscription.handle("Test");
+    }
+
+    Assert.assertEquals(1, listenerA.strings);
+    Assert.assertEquals(1, listenerA.invocations);
+    Assert.assertEquals(0, listenerB.strings);
+    Assert.assertEquals(0, listenerB.invocations);
+  }
+
+  /**
+   * Evaluates whether illegal subscriptions are rejected when the template is resolved.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSubscription() {
+    SubscriberTemplate.of(IllegalListener.class);
+  }
+
+  public static class Listener {
+
+    private int strings;
+    private int invocations;
+
+    @Subscribe
+    public void onString(String event) {
+      this.strings++;
+    }
+
+    @Subscribe(String.class)
+    public void onInvocation() {
+      this.invocations++;
+    }
+  }
+
+  public static class IllegalListener {
+
+    @Subscribe
+    public void onEvent() {
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.internal;
+
+import java.io.Serializable;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether type closures are consistent with the assignability rules of the runtime.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TypeIndexTest {
+
+  private static final List<Class<?>> TYPES = Arrays.asList(
+      Object.class, Serializable.class, Cloneable.class, CharSequence.class, Comparable.class,
+      String.class, Number.class, Integer.class, Collection.class, List.class, RandomAccess.class,
+      ArrayList.class, Object[].class, Serializable[].class, CharSequence[].class, String[].class,
+      String[][].class, Object[][].class, Integer[].class, int[].class, Runnable.class
+  );
+
+  /**
+   * Evaluates whether closure intersections match {@link Class#isAssignableFrom(Class)}.
+   */
+  @Test
+  public void testClosure() {
+    for (Class<?> base : TYPES) {
+      TypeIndex.Mask mask = TypeIndex.createMask(Collections.singleton(base));
+
+      for (Class<?> type : TYPES) {
+        Assert.assertEquals(base + " <- " + type, base.isAssignableFrom(type),
+            mask.intersects(TypeIndex.getClosure(type)));
+      }
+    }
+  }
+
+  /**
+   * Evaluates whether identifiers are stable and exact checks are limited to the type itself.
+   */
+  @Test
+  public void testIdentifier() {
+    Assert.assertEquals(TypeIndex.getId(String.class), TypeIndex.getId(String.class));
+    Assert.assertNotEquals(TypeIndex.getId(String.class), TypeIndex.getId(Object.class));
+
+    TypeIndex.Mask mask = TypeIndex.createMask(Collections.singleton(CharSequence.class));
+    Assert.assertTrue(mask.contains(TypeIndex.getId(CharSequence.class)));
+    Assert.assertFalse(mask.contains(TypeIndex.getId(String.class)));
+  }
+
+  /**
+   * Evaluates whether the identifiers of unloaded types are re-used while identifiers which are
+   * retained by a mask are not.
+   */
+  @Test
+  public void testIdentifierReuse() throws InterruptedException {
+    TypeIndex.Mask mask = TypeIndex.createMask(Collections.singleton(createType()));
+    int retainedId = getFirstId(mask);
+    int releasedId = TypeIndex.getId(createType());
+
+    List<Class<?>> types = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>();
+
+    for (int i = 0; i < 100 && !ids.contains(releasedId); ++i) {
+      System.gc();
+      Thread.sleep(10);
+
+      Class<?> type = createType();
+      types.add(type);
+      ids.add(TypeIndex.getId(type));
+    }
+
+    Assert.assertTrue(ids.contains(releasedId));
+    Assert.assertFalse(ids.contains(retainedId));
+    Assert.assertTrue(mask.contains(retainedId));
+  }
+
+  /**
+   * Defines a new type within a dedicated class loader so that it is unloaded once it is no
+   * longer referenced.
+   *
+   * @return a type.
+   */
+  @SuppressWarnings("deprecation")
+  private static Class<?> createType() {
+    return Proxy.getProxyClass(new ClassLoader() {
+    }, Runnable.class);
+  }
+
+  /**
+   * Retrieves the lowest identifier within a mask.
+   *
+   * @param mask a mask.
+   * @return an identifier.
+   */
+  private static int getFirstId(TypeIndex.Mask mask) {
+    int id = 0;
+
+    while (!mask.contains(id)) {
+      ++id;
+    }
+
+    return id;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.pipeline;
+
+import com.torchmind.mango.event.EventBus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether ring buffer pipelines deliver all published events in order.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class RingBufferPipelineTest {
+
+  private static final int EVENT_COUNT = 100_000;
+
+  /**
+   * Evaluates whether all events are delivered in order regardless of the wait strategy.
+   */
+  @Test
+  public void testDelivery() {
+    for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+      EventBus eventBus = new EventBus();
+      List<Integer> events = new ArrayList<>();
+      eventBus.createSubscription().register((Integer event) -> events.add(event));
+
+      RingBufferPipeline pipeline = new RingBufferPipeline.Builder(eventBus)
+          .withCapacity(64)
+          .withWaitStrategy(waitStrategy)
+          .build();
+
+      for (int i = 0; i < EVENT_COUNT; ++i) {
+        pipeline.publish(i);
+      }
+
+      pipeline.close();
+
+      Assert.assertFalse(pipeline.isRunning());
+      Assert.assertEquals(0, pipeline.getBacklog());
+      Assert.assertEquals(EVENT_COUNT, events.size());
+
+      for (int i = 0; i < EVENT_COUNT; ++i) {
+        Assert.assertEquals(i, (int) events.get(i));
+      }
+    }
+  }
+
+  /**
+   * Evaluates whether failing handlers are reported without interrupting the consumer.
+   */
+  @Test
+  public void testExceptionHandler() {
+    EventBus eventBus = new EventBus();
+    AtomicInteger failures = new AtomicInteger();
+    eventBus.createSubscription().register((Integer event) -> {
+      if (event % 2 == 0) {
+        throw new IllegalStateException();
+      }
+    });
+
+    RingBufferPipeline pipeline = new RingBufferPipeline.Builder(eventBus)
+        .withExceptionHandler((event, ex) -> failures.incrementAndGet())
+        .build();
+
+    for (int i = 0; i < 10; ++i) {
+      pipeline.publish(i);
+    }
+
+    pipeline.close();
+    Assert.assertEquals(5, failures.get());
+  }
+
+  /**
+   * Evaluates whether illegal capacities are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCapacity() {
+    new RingBufferPipeline.Builder(new EventBus()).withCapacity(100);
+  }
+
+  /**
+   * Evaluates whether closed pipelines reject further events.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testPublishAfterClose() {
+    RingBufferPipeline pipeline = new RingBufferPipeline.Builder(new EventBus()).build();
+    pipeline.close();
+    pipeline.publish(new Object());
+  }
+}
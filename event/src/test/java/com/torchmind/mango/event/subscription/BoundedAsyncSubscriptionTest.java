@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Evaluates whether bounded asynchronous subscriptions apply their overflow policies correctly.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class BoundedAsyncSubscriptionTest {
+
+  private Queue<Runnable> tasks;
+  private Executor executor;
+  private List<Object> events;
+  private Subscription subscription;
+
+  /**
+   * Prepares the instance for upcoming tests.
+   */
+  @Before
+  public void prepare() {
+    this.tasks = new ConcurrentLinkedQueue<>();
+    this.executor = this.tasks::add;
+    this.events = Collections.synchronizedList(new ArrayList<>());
+    this.subscription = new ConsumerSubscription((Consumer<Object>) this.events::add,
+        EventFilter.DEFAULT_FILTER, 0);
+  }
+
+  /**
+   * Executes all pending tasks within the calling thread.
+   */
+  private void runTasks() {
+    Runnable task;
+
+    while ((task = this.tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  /**
+   * Evaluates whether events are discarded when the queue is full and {@link
+   * OverflowPolicy#DROP_NEWEST} is selected.
+   */
+  @Test
+  public void testDropNewest() {
+    BoundedAsyncSubscription subscription = new BoundedAsyncSubscription(this.subscription,
+        this.executor, 2, OverflowPolicy.DROP_NEWEST, null);
+
+    subscription.handle("A");
+    subscription.handle("B");
+    subscription.handle("C");
+
+    Assert.assertEquals(1, this.tasks.size());
+    Assert.assertEquals(2, subscription.getQueueDepth());
+    Assert.assertEquals(1, subscription.getDropCount());
+
+    this.runTasks();
+    Assert.assertEquals(Arrays.asList("A", "B"), this.events);
+    Assert.assertEquals(0, subscription.getQueueDepth());
+  }
+
+  /**
+   * Evaluates whether the oldest queued events are discarded when the queue is full and {@link
+   * OverflowPolicy#DROP_OLDEST} is selected.
+   */
+  @Test
+  public void testDropOldest() {
+    BoundedAsyncSubscription subscription = new BoundedAsyncSubscription(this.subscription,
+        this.executor, 2, OverflowPolicy.DROP_OLDEST, null);
+
+    subscription.handle("A");
+    subscription.handle("B");
+    subscription.handle("C");
+    Assert.assertEquals(1, subscription.getDropCount());
+
+    this.runTasks();
+    Assert.assertEquals(Arrays.asList("B", "C"), this.events);
+  }
+
+  /**
+   * Evaluates whether overflowing events are passed to the overflow handler when {@link
+   * OverflowPolicy#CALLBACK} is selected.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCallback() {
+    Consumer<Object> overflowHandler = Mockito.mock(Consumer.class);
+    BoundedAsyncSubscription subscription = new BoundedAsyncSubscription(this.subscription,
+        this.executor, 1, OverflowPolicy.CALLBACK, overflowHandler);
+
+    subscription.handle("A");
+    subscription.handle("B");
+    Mockito.verify(overflowHandler).accept("B");
+    Assert.assertEquals(1, subscription.getDropCount());
+
+    this.runTasks();
+    Assert.assertEquals(Collections.singletonList("A"), this.events);
+  }
+
+  /**
+   * Evaluates whether publishers wait for space within the queue when {@link OverflowPolicy#BLOCK}
+   * is selected.
+   */
+  @Test(timeout = 5000)
+  public void testBlock() throws InterruptedException {
+    BoundedAsyncSubscription subscription = new BoundedAsyncSubscription(this.subscription,
+        this.executor, 1, OverflowPolicy.BLOCK, null);
+
+    subscription.handle("A");
+
+    Thread publisher = new Thread(() -> subscription.handle("B"));
+    publisher.start();
+
+    while (publisher.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+
+    this.runTasks();
+    publisher.join();
+    this.runTasks();
+
+    Assert.assertEquals(Arrays.asList("A", "B"), this.events);
+    Assert.assertEquals(0, subscription.getDropCount());
+    Assert.assertTrue(subscription.getWaitTime() > 0);
+  }
+
+  /**
+   * Evaluates whether a rejected drain task does not prevent subsequent publications from
+   * scheduling a new drain.
+   */
+  @Test
+  public void testRejectedDrain() {
+    AtomicBoolean rejecting = new AtomicBoolean(true);
+    Executor executor = (task) -> {
+      if (rejecting.get()) {
+        throw new RejectedExecutionException();
+      }
+
+      this.tasks.add(task);
+    };
+    BoundedAsyncSubscription subscription = new BoundedAsyncSubscription(this.subscription,
+        executor, 2, OverflowPolicy.BLOCK, null);
+
+    try {
+      subscription.handle("A");
+      Assert.fail("Expected drain task to be rejected");
+    } catch (RejectedExecutionException ignore) {
+    }
+
+    rejecting.set(false);
+    subscription.handle("B");
+    Assert.assertEquals(1, this.tasks.size());
+
+    this.runTasks();
+    Assert.assertEquals(Arrays.asList("A", "B"), this.events);
+  }
+
+  /**
+   * Evaluates whether illegal configurations are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testCallbackWithoutHandler() {
+    new BoundedAsyncSubscription(this.subscription, this.executor, 1, OverflowPolicy.CALLBACK,
+        null);
+  }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.subscription;
+
+import com.torchmind.mango.event.utility.KeyedEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Evaluates whether the subscription registry correctly computes and caches its queues.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SubscriptionRegistryTest {
+
+  private SubscriptionRegistry registry;
+
+  /**
+   * Prepares the instance for upcoming tests.
+   */
+  @Before
+  public void prepare() {
+    this.registry = new SubscriptionRegistry();
+  }
+
+  /**
+   * Evaluates whether queues of unaffected event types are carried over (without being copied)
+   * when the registry is modified.
+   */
+  @Test
+  public void testCarryOver() {
+    Subscription subscriptionA = Mockito.mock(Subscription.class);
+    Subscription subscriptionB = Mockito.mock(Subscription.class);
+
+    Mockito.when(subscriptionA.accepts(String.class)).thenReturn(true);
+    Mockito.when(subscriptionB.accepts(Integer.class)).thenReturn(true);
+
+    this.registry.register(subscriptionA);
+
+    SubscriptionQueue queue = this.registry.getSnapshot().getQueue(String.class);
+    Assert.assertEquals(1, queue.size());
+    Assert.assertSame(subscriptionA, queue.get(0));
+
+    this.registry.register(subscriptionB);
+
+    SubscriptionQueue carried = this.registry.getSnapshot().getQueue(String.class);
+    Assert.assertEquals(this.registry.getSnapshot().getVersion(), carried.getVersion());
+    Assert.assertSame(queue, carried);
+    Assert.assertSame(carried, this.registry.getSnapshot().getQueue(String.class));
+
+    Mockito.verify(subscriptionA, Mockito.times(1)).accepts(String.class);
+    Mockito.verify(subscriptionB, Mockito.times(1)).accepts(String.class);
+  }
+
+  /**
+   * Evaluates whether cached queues are patched in their intended order of execution rather than
+   * re-computed when subscriptions are registered or removed.
+   */
+  @Test
+  public void testIncrementalUpdate() {
+    Subscription subscriptionA = Mockito.mock(Subscription.class);
+    Subscription subscriptionB = Mockito.mock(Subscription.class);
+    Subscription subscriptionC = Mockito.mock(Subscription.class);
+    Subscription subscriptionD = Mockito.mock(Subscription.class);
+
+    Mockito.when(subscriptionA.accepts(String.class)).thenReturn(true);
+    Mockito.when(subscriptionB.accepts(String.class)).thenReturn(true);
+    Mockito.when(subscriptionC.accepts(String.class)).thenReturn(true);
+    Mockito.when(subscriptionD.accepts(String.class)).thenReturn(true);
+
+    Mockito.when(subscriptionA.getPriority()).thenReturn(0);
+    Mockito.when(subscriptionB.getPriority()).thenReturn(2);
+    Mockito.when(subscriptionC.getPriority()).thenReturn(1);
+    Mockito.when(subscriptionD.getPriority()).thenReturn(1);
+
+    this.registry.register(subscriptionA);
+    this.registry.register(subscriptionB);
+
+    Assert.assertEquals(Arrays.asList(subscriptionA, subscriptionB),
+        this.registry.getSubscriptions(String.class));
+
+    this.registry.register(subscriptionC);
+    this.registry.register(subscriptionD);
+
+    Assert.assertEquals(Arrays.asList(subscriptionA, subscriptionC, subscriptionD, subscriptionB),
+        this.registry.getSubscriptions(String.class));
+
+    this.registry.unregister(subscriptionC);
+
+    Assert.assertEquals(Arrays.asList(subscriptionA, subscriptionD, subscriptionB),
+        this.registry.getSubscriptions(String.class));
+    Assert.assertEquals(1, this.registry.getStatistics().getMissCount());
+
+    Mockito.verify(subscriptionA, Mockito.times(1)).accepts(String.class);
+    Mockito.verify(subscriptionB, Mockito.times(1)).accepts(String.class);
+  }
+
+  /**
+   * Evaluates whether snapshots remain consistent when a registry is modified after their
+   * retrieval.
+   */
+  @Test
+  public void testSnapshotIsolation() {
+    Subscription subscription = Mockito.mock(Subscription.class);
+    Mockito.when(subscription.accepts(Object.class)).thenReturn(true);
+
+    SubscriptionRegistry.Snapshot snapshot = this.registry.getSnapshot();
+    this.registry.register(subscription);
+
+    Assert.assertTrue(snapshot.getQueue(Object.class).isEmpty());
+    Assert.assertEquals(1, this.registry.getSnapshot().getQueue(Object.class).size());
+    Assert.assertTrue(snapshot.getQueue(Object.class).isEmpty());
+  }
+
+  /**
+   * Evaluates whether the registry evicts queues once its maximum cache size is exceeded and
+   * correctly reports its statistics.
+   */
+  @Test
+  public void testEviction() {
+    Class<?>[] types = {Object.class, String.class, Integer.class, Long.class, Double.class,
+        Float.class, Short.class, Byte.class, Character.class, Boolean.class};
+
+    for (EvictionPolicy policy : EvictionPolicy.values()) {
+      SubscriptionRegistry registry = new SubscriptionRegistry(5, policy);
+
+      for (int i = 0; i < 3; ++i) {
+        registry.getSnapshot().getQueue(Object.class);
+      }
+
+      for (Class<?> type : types) {
+        registry.getSnapshot().getQueue(type);
+      }
+
+      CacheStatistics statistics = registry.getStatistics();
+
+      Assert.assertTrue(statistics.getSize() <= 5);
+      Assert.assertEquals(5, statistics.getMaximumSize());
+      Assert.assertEquals(10, statistics.getMissCount());
+      Assert.assertEquals(3, statistics.getHitCount());
+      Assert.assertEquals(10 - statistics.getSize(), statistics.getEvictionCount());
+      Assert.assertTrue(registry.getSnapshot().getQueue(Boolean.class).isEmpty());
+      Assert.assertEquals(4, registry.getStatistics().getHitCount());
+    }
+  }
+
+  /**
+   * Evaluates whether frequently accessed queues are retained by the least frequently used policy
+   * despite the sampling of access frequencies.
+   */
+  @Test
+  public void testFrequencyRetention() {
+    Class<?>[] types = {String.class, Integer.class, Long.class, Double.class, Float.class,
+        Short.class, Byte.class, Character.class, Boolean.class, Number.class};
+    SubscriptionRegistry registry = new SubscriptionRegistry(5,
+        EvictionPolicy.LEAST_FREQUENTLY_USED);
+
+    for (int i = 0; i < 10000; ++i) {
+      registry.getSnapshot().getQueue(Object.class);
+    }
+
+    for (Class<?> type : types) {
+      registry.getSnapshot().getQueue(type);
+    }
+
+    long missCount = registry.getStatistics().getMissCount();
+    registry.getSnapshot().getQueue(Object.class);
+    Assert.assertEquals(missCount, registry.getStatistics().getMissCount());
+  }
+
+  /**
+   * Evaluates whether the registry rejects illegal cache sizes.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCacheSize() {
+    new SubscriptionRegistry(0, EvictionPolicy.LEAST_RECENTLY_USED);
+  }
+
+  /**
+   * Evaluates whether concurrent lookups of previously unknown event types yield consistent
+   * results while the registry is being modified.
+   */
+  @Test
+  public void testConcurrentLookup() throws Exception {
+    Class<?>[] types = {Object.class, String.class, Integer.class, Long.class, Double.class,
+        Float.class, Short.class, Byte.class, Character.class, Boolean.class};
+
+    Subscription subscription = Mockito.mock(Subscription.class);
+    Mockito.when(subscription.accepts(Mockito.<Class<?>>any())).thenReturn(true);
+    this.registry.register(subscription);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch latch = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < 8; ++i) {
+        futures.add(executor.submit(() -> {
+          latch.await();
+
+          for (int j = 0; j < 1000; ++j) {
+            for (Class<?> type : types) {
+              SubscriptionRegistry.Snapshot snapshot = this.registry.getSnapshot();
+              SubscriptionQueue queue = snapshot.getQueue(type);
+
+              // unaffected queues may have been confirmed for a newer snapshot in the meantime
+              Assert.assertTrue(queue.getVersion() >= snapshot.getVersion());
+              Assert.assertSame(subscription, queue.get(0));
+            }
+          }
+
+          return null;
+        }));
+      }
+
+      latch.countDown();
+
+      for (int i = 0; i < 100; ++i) {
+        Subscription other = Mockito.mock(Subscription.class);
+        Mockito.when(other.getPriority()).thenReturn(1);
+        this.registry.register(other);
+      }
+
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Creates a mocked subscription with a given key and priority.
+   */
+  private static Subscription mockSubscription(Object key, int priority) {
+    Subscription subscription = Mockito.mock(Subscription.class);
+    Mockito.when(subscription.accepts(Mockito.any(Class.class))).thenReturn(true);
+    Mockito.when(subscription.getKey()).thenReturn(key);
+    Mockito.when(subscription.getPriority()).thenReturn(priority);
+    return subscription;
+  }
+
+  /**
+   * Evaluates whether the key index of cached queues is patched when keyed subscriptions are
+   * registered or removed.
+   */
+  @Test
+  public void testKeyIndex() {
+    Subscription unkeyed = mockSubscription(null, 0);
+    Subscription keyedA = mockSubscription("A", -1);
+    Subscription keyedB = mockSubscription("B", 0);
+    Subscription lateA = mockSubscription("A", 1);
+    KeyedEvent eventA = () -> "A";
+    KeyedEvent eventB = () -> "B";
+
+    this.registry.register(unkeyed);
+    this.registry.getSnapshot().getQueue(eventA.getClass());
+
+    this.registry.register(keyedA);
+    this.registry.register(keyedB);
+    this.registry.register(lateA);
+
+    List<Subscription> candidates = new ArrayList<>();
+    this.registry.getSnapshot().getQueue(eventA.getClass())
+        .dispatch(eventA, (subscription, event) -> candidates.add(subscription));
+    Assert.assertEquals(Arrays.asList(keyedA, unkeyed, lateA), candidates);
+
+    candidates.clear();
+    this.registry.getSnapshot().getQueue(eventB.getClass())
+        .dispatch(eventB, (subscription, event) -> candidates.add(subscription));
+    Assert.assertEquals(Arrays.asList(unkeyed, keyedB), candidates);
+
+    this.registry.unregister(keyedA);
+    this.registry.unregister(unkeyed);
+
+    candidates.clear();
+    this.registry.getSnapshot().getQueue(eventA.getClass())
+        .dispatch(eventA, (subscription, event) -> candidates.add(subscription));
+    Assert.assertEquals(Collections.singletonList(lateA), candidates);
+  }
+
+  /**
+   * Evaluates whether previously retrieved queues remain unaffected by keyed registrations.
+   */
+  @Test
+  public void testKeyIndexIsolation() {
+    Subscription keyedA = mockSubscription("A", 0);
+    Subscription lateA = mockSubscription("A", 1);
+    KeyedEvent eventA = () -> "A";
+
+    this.registry.register(keyedA);
+    SubscriptionQueue queue = this.registry.getSnapshot().getQueue(eventA.getClass());
+
+    this.registry.register(lateA);
+
+    List<Subscription> candidates = new ArrayList<>();
+    queue.dispatch(eventA, (subscription, event) -> candidates.add(subscription));
+    Assert.assertEquals(Collections.singletonList(keyedA), candidates);
+
+    queue = this.registry.getSnapshot().getQueue(eventA.getClass());
+    this.registry.unregister(keyedA);
+
+    candidates.clear();
+    queue.dispatch(eventA, (subscription, event) -> candidates.add(subscription));
+    Assert.assertEquals(Arrays.asList(keyedA, lateA), candidates);
+  }
+}
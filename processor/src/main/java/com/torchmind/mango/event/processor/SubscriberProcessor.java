@@ -0,0 +1,495 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * <p>Generates a subscriber adapter for each concrete type which declares methods annotated with
+ * {@code @Subscribe}.</p>
+ *
+ * <p>Adapters register all handlers of their subscriber type through the regular subscription
+ * builder API and thus permit the event bus to skip reflective method discovery as well as the
+ * runtime generation of lambdas. Types with handlers which cannot be invoked from generated code
+ * (such as private methods) are skipped and will continue to be registered reflectively.</p>
+ *
+ * <p>The event filters of all handlers are constructed once when the adapter is initialized and
+ * are shared between all registered subscriber instances.</p>
+ *
+ * <p>The binary names of all types for which adapters have been generated are listed within the
+ * {@code META-INF/mango/subscribers.index} resource. Entries from previous (incremental)
+ * compilations into the same output are retained unless their type has been processed again
+ * without generating an adapter.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@SupportedAnnotationTypes(SubscriberProcessor.SUBSCRIBE)
+public class SubscriberProcessor extends AbstractProcessor {
+
+  static final String SUBSCRIBE = "com.torchmind.mango.event.annotation.Subscribe";
+  static final String DEFAULT_VALUE = SUBSCRIBE + ".DefaultValue";
+  static final String OVERFLOW_POLICY = "com.torchmind.mango.event.subscription.OverflowPolicy";
+  static final String ADAPTER_SUFFIX = "$$SubscriberAdapter";
+  static final String INDEX_RESOURCE = "META-INF/mango/subscribers.index";
+
+  private final Set<String> index = new TreeSet<>();
+  private final Set<String> processed = new HashSet<>();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      this.writeIndex();
+      return false;
+    }
+
+    TypeElement subscribe = this.processingEnv.getElementUtils().getTypeElement(SUBSCRIBE);
+
+    if (subscribe == null) {
+      return false;
+    }
+
+    Set<TypeElement> types = new LinkedHashSet<>();
+
+    for (Element element : roundEnv.getElementsAnnotatedWith(subscribe)) {
+      Element enclosing = element.getEnclosingElement();
+
+      if (enclosing instanceof TypeElement) {
+        types.add((TypeElement) enclosing);
+      }
+    }
+
+    types.forEach(this::generateAdapter);
+    return false;
+  }
+
+  /**
+   * Generates the adapter for a given subscriber type (if possible).
+   *
+   * @param type a subscriber type.
+   */
+  private void generateAdapter(TypeElement type) {
+    Elements elements = this.processingEnv.getElementUtils();
+    String binaryName = elements.getBinaryName(type).toString();
+    this.processed.add(binaryName);
+
+    if (!this.isSupportedType(type)) {
+      return;
+    }
+
+    String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    StringBuilder filters = new StringBuilder();
+    StringBuilder registrations = new StringBuilder();
+    int filterCount = 0;
+
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      AnnotationMirror annotation = this.getSubscribeAnnotation(method);
+
+      if (annotation == null) {
+        continue;
+      }
+
+      if (!this.isAccessible(method, packageName)) {
+        this.processingEnv.getMessager().printMessage(Kind.NOTE,
+            "Handler cannot be invoked from generated code: Subscriber will be registered "
+                + "reflectively", method);
+        return;
+      }
+
+      String registration = this.createRegistration(method, annotation, filters,
+          "FILTER_" + filterCount++);
+
+      if (registration == null) {
+        return;
+      }
+
+      registrations.append(registration);
+    }
+
+    if (registrations.length() == 0) {
+      return;
+    }
+
+    String adapterName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+        + ADAPTER_SUFFIX;
+    String typeName = this.processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+    StringBuilder source = new StringBuilder();
+
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+
+    source.append("/**\n")
+        .append(" * Registers the annotated handlers of {@link ").append(typeName).append("}.\n")
+        .append(" */\n")
+        .append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+        .append("public final class ").append(adapterName)
+        .append(" implements com.torchmind.mango.event.adapter.SubscriberAdapter<")
+        .append(typeName).append("> {\n\n")
+        .append(filters)
+        .append("  @Override\n")
+        .append("  public Class<").append(typeName).append("> getSubscriberType() {\n")
+        .append("    return ").append(typeName).append(".class;\n")
+        .append("  }\n\n")
+        .append("  @Override\n")
+        .append("  public void register(\n")
+        .append("      com.torchmind.mango.event.EventBus eventBus,\n")
+        .append("      ").append(typeName).append(" subscriber,\n")
+        .append("      java.util.Collection<com.torchmind.mango.event.subscription")
+        .append(".SubscriptionHandle> handles) {\n")
+        .append(registrations)
+        .append("  }\n")
+        .append("}\n");
+
+    try {
+      JavaFileObject file = this.processingEnv.getFiler()
+          .createSourceFile(packageName.isEmpty() ? adapterName : packageName + "." + adapterName,
+              type);
+
+      try (Writer writer = file.openWriter()) {
+        writer.write(source.toString());
+      }
+
+      this.index.add(binaryName);
+    } catch (IOException ex) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Cannot write subscriber adapter: " + ex.getMessage(), type);
+    }
+  }
+
+  /**
+   * Creates the source code which registers a single handler method.
+   *
+   * @param method a handler method.
+   * @param annotation the subscription annotation of the method.
+   * @param filters the builder to which the declaration of the handler's filter field is
+   * appended.
+   * @param filterName the name of the handler's filter field.
+   * @return a statement or null if the method cannot be registered.
+   */
+  private String createRegistration(ExecutableElement method, AnnotationMirror annotation,
+      StringBuilder filters, String filterName) {
+    Types types = this.processingEnv.getTypeUtils();
+    Elements elements = this.processingEnv.getElementUtils();
+    List<? extends TypeMirror> parameters = method.getParameters().stream()
+        .map(Element::asType)
+        .collect(Collectors.toList());
+
+    if (parameters.size() > 1) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Illegal subscription: Expecting exactly zero or one parameter", method);
+      return null;
+    }
+
+    Map<String, AnnotationValue> explicitValues = annotation.getElementValues().entrySet().stream()
+        .collect(Collectors.toMap((e) -> e.getKey().getSimpleName().toString(),
+            Map.Entry::getValue));
+    Map<String, AnnotationValue> values = elements.getElementValuesWithDefaults(annotation)
+        .entrySet().stream()
+        .collect(Collectors.toMap((e) -> e.getKey().getSimpleName().toString(),
+            Map.Entry::getValue));
+
+    AnnotationValue eventTypeValue = explicitValues.get("eventType");
+    if (eventTypeValue == null) {
+      eventTypeValue = explicitValues.get("value");
+    }
+    if (eventTypeValue == null) {
+      eventTypeValue = values.get("eventType");
+    }
+
+    List<?> eventTypeValues = (List<?>) eventTypeValue.getValue();
+    List<String> eventTypes = eventTypeValues.stream()
+        .map((value) -> types.erasure((TypeMirror) ((AnnotationValue) value).getValue())
+            .toString())
+        .collect(Collectors.toList());
+
+    if (eventTypes.isEmpty()) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Illegal subscription: Expected one or more event types", method);
+      return null;
+    }
+
+    if (DEFAULT_VALUE.equals(eventTypes.get(0))) {
+      if (parameters.size() != 1) {
+        this.processingEnv.getMessager().printMessage(Kind.ERROR,
+            "Illegal subscription: Cannot infer accepted event type", method);
+        return null;
+      }
+
+      eventTypes = Collections.singletonList(types.erasure(parameters.get(0)).toString());
+    }
+
+    int queueCapacity = (Integer) values.get("queueCapacity").getValue();
+
+    if (queueCapacity < 0) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Illegal subscription: Expected a positive queue capacity but got " + queueCapacity,
+          method);
+      return null;
+    }
+
+    String name = elements.getBinaryName((TypeElement) method.getEnclosingElement()) + "#"
+        + method.getSimpleName();
+    String target = "subscriber." + method.getSimpleName();
+
+    StringBuilder filter = new StringBuilder()
+        .append("  private static final com.torchmind.mango.event.subscription.filter")
+        .append(".EventFilter ").append(filterName).append(" =\n")
+        .append("      new com.torchmind.mango.event.subscription.filter.EventFilter.Builder()\n")
+        .append("          .withEventType(")
+        .append(eventTypes.stream().map((t) -> t + ".class").collect(Collectors.joining(", ")))
+        .append(")\n")
+        .append("          .withAcceptCancelled(").append(values.get("acceptCancelled"))
+        .append(")\n")
+        .append("          .withAcceptHeirs(").append(values.get("acceptHeirs")).append(")\n");
+
+    AnnotationValue condition = values.get("condition");
+    if (condition != null && !((String) condition.getValue()).isEmpty()) {
+      filter.append("          .withCondition(").append(condition).append(")\n");
+    }
+
+    filter.append("          .build();\n\n");
+
+    StringBuilder registration = new StringBuilder()
+        .append("    handles.add(eventBus.createSubscription()\n")
+        .append("        .withFilter(").append(filterName).append(")\n")
+        .append("        .withPriority(").append(values.get("priority")).append(")\n")
+        .append("        .withAsync(").append(values.get("async")).append(")\n");
+
+    if (queueCapacity != 0) {
+      VariableElement overflowPolicy = (VariableElement) values.get("overflowPolicy").getValue();
+
+      registration.append("        .withQueueCapacity(").append(queueCapacity).append(")\n")
+          .append("        .withOverflowPolicy(").append(OVERFLOW_POLICY).append(".")
+          .append(overflowPolicy.getSimpleName()).append(")\n");
+    }
+
+    registration.append("        .withName(\"").append(name).append("\")\n");
+
+    if (parameters.isEmpty()) {
+      registration.append("        .register((java.lang.Runnable) () -> ")
+          .append(target).append("()));\n");
+    } else {
+      registration.append("        .register((java.util.function.Consumer<java.lang.Object>) ")
+          .append("(event) -> ").append(target).append("((")
+          .append(types.erasure(parameters.get(0))).append(") event)));\n");
+    }
+
+    filters.append(filter);
+    return registration.toString();
+  }
+
+  /**
+   * Retrieves the subscription annotation of a method.
+   *
+   * @param method a method.
+   * @return an annotation mirror or null if the method is not annotated.
+   */
+  private AnnotationMirror getSubscribeAnnotation(ExecutableElement method) {
+    for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+
+      if (annotationType.getQualifiedName().contentEquals(SUBSCRIBE)) {
+        return mirror;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Evaluates whether a handler method may be invoked from an adapter within the indicated
+   * package.
+   *
+   * @param method a handler method.
+   * @param packageName the package of the adapter.
+   * @return true if accessible, false otherwise.
+   */
+  private boolean isAccessible(ExecutableElement method, String packageName) {
+    Set<Modifier> modifiers = method.getModifiers();
+
+    if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+      return false;
+    }
+
+    if (modifiers.contains(Modifier.PUBLIC)) {
+      return this.isPublicType((TypeElement) method.getEnclosingElement())
+          || this.isDeclaredIn(method, packageName);
+    }
+
+    return this.isDeclaredIn(method, packageName);
+  }
+
+  /**
+   * Evaluates whether a method has been declared within the indicated package.
+   *
+   * @param method a method.
+   * @param packageName a package name.
+   * @return true if declared within the package, false otherwise.
+   */
+  private boolean isDeclaredIn(ExecutableElement method, String packageName) {
+    PackageElement declaringPackage = this.processingEnv.getElementUtils().getPackageOf(method);
+    return declaringPackage.getQualifiedName().contentEquals(packageName);
+  }
+
+  /**
+   * Evaluates whether a type and all of its enclosing types are public.
+   *
+   * @param type a type.
+   * @return true if public, false otherwise.
+   */
+  private boolean isPublicType(TypeElement type) {
+    Element element = type;
+
+    while (element instanceof TypeElement) {
+      if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+        return false;
+      }
+
+      element = element.getEnclosingElement();
+    }
+
+    return true;
+  }
+
+  /**
+   * Evaluates whether adapters may be generated for a given subscriber type.
+   *
+   * @param type a subscriber type.
+   * @return true if supported, false otherwise.
+   */
+  private boolean isSupportedType(TypeElement type) {
+    if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+      return false;
+    }
+
+    Element element = type;
+
+    while (element instanceof TypeElement) {
+      TypeElement current = (TypeElement) element;
+
+      if (current.getNestingKind() == NestingKind.LOCAL
+          || current.getNestingKind() == NestingKind.ANONYMOUS
+          || current.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+
+      element = element.getEnclosingElement();
+    }
+
+    return true;
+  }
+
+  /**
+   * Reads the index which has been written to the class output by a previous compilation.
+   *
+   * @param entries a set to which the existing entries are added.
+   * @return true if an index exists, false otherwise.
+   */
+  private boolean readIndex(Set<String> entries) {
+    try {
+      FileObject file = this.processingEnv.getFiler()
+          .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+
+      try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+        reader.lines()
+            .map(String::trim)
+            .filter((line) -> !line.isEmpty() && !line.startsWith("#"))
+            .forEach(entries::add);
+      }
+
+      return true;
+    } catch (IOException | UncheckedIOException ex) {
+      // no previous index
+      return false;
+    }
+  }
+
+  /**
+   * Writes the index of all generated adapters (merged with the index of previous compilations).
+   */
+  private void writeIndex() {
+    Set<String> entries = new TreeSet<>();
+    boolean existing = this.readIndex(entries);
+
+    entries.removeAll(this.processed);
+    entries.addAll(this.index);
+
+    if (entries.isEmpty() && !existing) {
+      return;
+    }
+
+    try {
+      FileObject file = this.processingEnv.getFiler()
+          .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+
+      try (Writer writer = file.openWriter()) {
+        for (String type : entries) {
+          writer.write(type);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException ex) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Cannot write subscriber index: " + ex.getMessage());
+    }
+  }
+}
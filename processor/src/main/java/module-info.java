@@ -0,0 +1,12 @@
+/**
+ * Provides an annotation processor which generates subscriber adapters for annotated event handlers
+ * at compile time.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+module com.torchmind.mango.event.processor {
+  requires java.compiler;
+
+  provides javax.annotation.processing.Processor
+      with com.torchmind.mango.event.processor.SubscriberProcessor;
+}
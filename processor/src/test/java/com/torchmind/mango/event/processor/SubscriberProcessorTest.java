@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.mango.event.processor;
+
+import com.torchmind.mango.event.EventBus;
+import com.torchmind.mango.event.subscription.filter.EventFilter;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Provides test cases for {@link SubscriberProcessor}.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SubscriberProcessorTest {
+
+  private Path directory;
+
+  @Before
+  public void createDirectory() throws IOException {
+    this.directory = Files.createTempDirectory("mango-processor");
+  }
+
+  @After
+  public void deleteDirectory() throws IOException {
+    Files.walk(this.directory)
+        .sorted(Collections.reverseOrder())
+        .forEach((path) -> path.toFile().delete());
+  }
+
+  /**
+   * Compiles the passed source file using the subscriber processor.
+   *
+   * @param className a fully qualified class name.
+   * @param lines the source code.
+   * @return a class loader which provides access to the compiled classes.
+   */
+  private ClassLoader compile(String className, String... lines) throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    Assume.assumeNotNull(compiler);
+
+    Path source = this.directory.resolve(className.replace('.', '/') + ".java");
+    Files.createDirectories(source.getParent());
+    Files.write(source, Arrays.asList(lines), StandardCharsets.UTF_8);
+
+    Path output = this.directory.resolve("classes");
+    Files.createDirectories(output);
+
+    try (StandardJavaFileManager fileManager = compiler
+        .getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+      Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(source.toFile());
+      List<String> options = Arrays.asList(
+          "-classpath", System.getProperty("java.class.path"),
+          "-d", output.toString()
+      );
+
+      CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+      task.setProcessors(Collections.singletonList(new SubscriberProcessor()));
+      Assert.assertTrue(task.call());
+    }
+
+    return new URLClassLoader(new URL[]{output.toUri().toURL()}, this.getClass().getClassLoader());
+  }
+
+  /**
+   * Evaluates whether adapters are generated and indexed for eligible subscriber types.
+   */
+  @Test
+  public void testAdapter() throws ReflectiveOperationException, IOException {
+    ClassLoader classLoader = this.compile("sample.Listener",
+        "package sample;",
+        "import com.torchmind.mango.event.annotation.Subscribe;",
+        "public class Listener implements java.util.function.IntSupplier {",
+        "  private int invocations;",
+        "  @Subscribe(condition = \"length >= 4\")",
+        "  public void onString(String event) { this.invocations++; }",
+        "  @Subscribe(Integer.class) void onInteger() { this.invocations += 10; }",
+        "  @Subscribe(value = Long.class, async = true, queueCapacity = 4,",
+        "      overflowPolicy = com.torchmind.mango.event.subscription.OverflowPolicy.DROP_OLDEST)",
+        "  void onLong() { }",
+        "  public int getAsInt() { return this.invocations; }",
+        "}"
+    );
+
+    Class<?> adapterType = classLoader.loadClass("sample.Listener$$SubscriberAdapter");
+    Assert.assertNotNull(adapterType);
+    Assert.assertNotNull(classLoader.getResource(SubscriberProcessor.INDEX_RESOURCE));
+    Assert.assertEquals(3, Arrays.stream(adapterType.getDeclaredFields())
+        .filter((field) -> field.getType() == EventFilter.class)
+        .filter((field) -> Modifier.isStatic(field.getModifiers()))
+        .count());
+
+    IntSupplier listener = (IntSupplier) classLoader.loadClass("sample.Listener")
+        .getConstructor().newInstance();
+    EventBus eventBus = new EventBus();
+    eventBus.register(listener);
+
+    eventBus.post("Test");
+    eventBus.post("Foo");
+    eventBus.post(42);
+    eventBus.post(21L);
+
+    Assert.assertEquals(11, listener.getAsInt());
+  }
+
+  /**
+   * Evaluates whether the index retains the entries of previous compilations into the same
+   * output.
+   */
+  @Test
+  public void testIndexMerge() throws IOException {
+    this.compile("sample.ListenerA",
+        "package sample;",
+        "import com.torchmind.mango.event.annotation.Subscribe;",
+        "public class ListenerA {",
+        "  @Subscribe public void onString(String event) { }",
+        "}"
+    );
+    this.compile("sample.ListenerB",
+        "package sample;",
+        "import com.torchmind.mango.event.annotation.Subscribe;",
+        "public class ListenerB {",
+        "  @Subscribe public void onString(String event) { }",
+        "}"
+    );
+
+    List<String> index = Files.readAllLines(this.directory.resolve("classes")
+        .resolve(SubscriberProcessor.INDEX_RESOURCE), StandardCharsets.UTF_8);
+    Assert.assertEquals(Arrays.asList("sample.ListenerA", "sample.ListenerB"), index);
+
+    this.compile("sample.ListenerA",
+        "package sample;",
+        "import com.torchmind.mango.event.annotation.Subscribe;",
+        "public class ListenerA {",
+        "  @Subscribe private void onString(String event) { }",
+        "}"
+    );
+
+    index = Files.readAllLines(this.directory.resolve("classes")
+        .resolve(SubscriberProcessor.INDEX_RESOURCE), StandardCharsets.UTF_8);
+    Assert.assertEquals(Collections.singletonList("sample.ListenerB"), index);
+  }
+
+  /**
+   * Evaluates whether types with inaccessible handlers are skipped.
+   */
+  @Test
+  public void testInaccessible() throws IOException {
+    ClassLoader classLoader = this.compile("sample.Listener",
+        "package sample;",
+        "import com.torchmind.mango.event.annotation.Subscribe;",
+        "public class Listener {",
+        "  @Subscribe private void onString(String event) { }",
+        "}"
+    );
+
+    try {
+      classLoader.loadClass("sample.Listener$$SubscriberAdapter");
+      Assert.fail("Expected adapter to be skipped");
+    } catch (ClassNotFoundException ignore) {
+    }
+
+    Assert.assertNull(classLoader.getResource(SubscriberProcessor.INDEX_RESOURCE));
+  }
+}